@@ -0,0 +1,83 @@
+package me.devupdates.herbalism.crop;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jol.info.GraphLayout;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Heap used per unloaded crop when kept as crop objects versus in the compact store.
+ * The footprint is reported in the bytesPerCrop column; the score is the time to
+ * build and measure the whole set.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class CompactCropStoreBenchmark {
+
+    private static final long DURATION_MILLIS = 3_600_000L;
+
+    @Param({"10000", "100000"})
+    private int crops;
+
+    @Param({"50"})
+    private int owners;
+
+    private List<Crop> source;
+
+    @Setup(Level.Trial)
+    public void createCrops() {
+        UUID worldId = UUID.randomUUID();
+        UUID[] ownerIds = new UUID[owners];
+        for (int i = 0; i < owners; i++) {
+            ownerIds[i] = UUID.randomUUID();
+        }
+
+        long now = System.currentTimeMillis();
+        source = new ArrayList<>(crops);
+        for (int i = 0; i < crops; i++) {
+            long plantTime = now - (i * 997L) % DURATION_MILLIS;
+            int owner = i % owners;
+            source.add(new Crop(CropIds.next(), i % 2 == 0 ? "wheat" : "carrots", ownerIds[owner], "Player" + owner,
+                    worldId, (i % 256) - 128, 64, (i / 256) - 128, plantTime, DURATION_MILLIS, plantTime + DURATION_MILLIS));
+        }
+    }
+
+    @Benchmark
+    public Object cropObjects(Footprint footprint) {
+        List<Crop> stored = new ArrayList<>(source);
+        footprint.bytesPerCrop = GraphLayout.parseInstance(stored).totalSize() / crops;
+        return stored;
+    }
+
+    @Benchmark
+    public Object compactStore(Footprint footprint) {
+        CompactCropStore store = new CompactCropStore();
+        store.addAll(source);
+        footprint.bytesPerCrop = GraphLayout.parseInstance(store).totalSize() / crops;
+        return store;
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Footprint {
+        public long bytesPerCrop;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            bytesPerCrop = 0;
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package me.devupdates.herbalism.crop;
+
+import me.devupdates.herbalism.manager.CropManager;
+import org.bukkit.Material;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drops rolled per second by the compiled drop table versus the per-drop loop it replaced.
+ * Creating item stacks needs a running server, so both variants stop before that: the old
+ * loop allocates one drop object where it used to allocate an item stack.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class DropTableBenchmark {
+
+    @Param({"1.0", "1.5"})
+    private double yieldMultiplier;
+
+    @Param({"0.0", "0.25"})
+    private double luckChance;
+
+    private List<CropManager.DropItem> drops;
+    private DropTable.Modified table;
+
+    @Setup
+    public void compile() {
+        drops = List.of(
+                new CropManager.DropItem(Material.WHEAT, 1, 100.0, 1, 25.0),
+                new CropManager.DropItem(Material.WHEAT_SEEDS, 2, 75.0, 1, 20.0),
+                new CropManager.DropItem(Material.GOLDEN_CARROT, 1, 5.0, 0, 0.0));
+        table = DropTable.compile(drops).modify(yieldMultiplier, luckChance);
+    }
+
+    /**
+     * The loop harvesting used before drop tables were compiled
+     */
+    @Benchmark
+    public List<RolledDrop> perDropLoop() {
+        List<RolledDrop> rolled = new ArrayList<>();
+        for (CropManager.DropItem drop : drops) {
+            if (Math.random() * 100 < drop.getChance()) {
+                int amount = drop.getAmount();
+                if (yieldMultiplier > 1.0) {
+                    amount = (int) (amount * yieldMultiplier);
+                }
+                rolled.add(new RolledDrop(drop.getMaterial(), amount));
+            }
+            if (luckChance > 0 && Math.random() < luckChance) {
+                rolled.add(new RolledDrop(drop.getMaterial(), drop.getAmount()));
+            }
+        }
+        return rolled;
+    }
+
+    /**
+     * One harvest with the compiled table, counting into a fresh counter like a harvest batch does
+     */
+    @Benchmark
+    public DropTable.Counter compiledTable() {
+        DropTable.Counter counter = new DropTable.Counter();
+        table.roll(counter);
+        return counter;
+    }
+
+    public static final class RolledDrop {
+        private final Material material;
+        private final int amount;
+
+        private RolledDrop(Material material, int amount) {
+            this.material = material;
+            this.amount = amount;
+        }
+
+        public Material getMaterial() {
+            return material;
+        }
+
+        public int getAmount() {
+            return amount;
+        }
+    }
+}
@@ -162,6 +162,7 @@ public class Ability {
         private final int requiredLevel;
         private final double effectValue;
         private final double chance;
+        private final int radius;
         private final String description;
         
         public AbilityLevel(int level, ConfigurationSection config) {
@@ -169,6 +170,7 @@ public class Ability {
             this.requiredLevel = config.getInt("required-level", 1);
             this.effectValue = config.getDouble("effect-value", 0.0);
             this.chance = config.getDouble("chance", 1.0);
+            this.radius = config.getInt("radius", 0);
             this.description = config.getString("description", "");
         }
         
@@ -188,6 +190,13 @@ public class Ability {
             return chance;
         }
         
+        /**
+         * Gets the block radius of area abilities, 0 if not set
+         */
+        public int getRadius() {
+            return radius;
+        }
+        
         public String getDescription() {
             return description;
         }
@@ -0,0 +1,94 @@
+package me.devupdates.herbalism.ability;
+
+/**
+ * Resolved ability effects of one player, indexed by ability ordinal. Built from the
+ * player's level, toggles and cooldowns, and valid until the level changes or the first
+ * cooldown runs out; toggles, new cooldowns and reloads drop it. The effects the planting
+ * and harvest paths need are kept in plain fields.
+ */
+public final class AbilitySnapshot {
+
+    private final int playerLevel;
+    private final long validUntil;
+    private final int[] levels;
+    private final double[] effectValues;
+    private final double[] chances;
+    private final int[] radii;
+
+    private final double growthModifier;
+    private final double yieldMultiplier;
+    private final double bonusChance;
+    private final int areaHarvestRadius;
+
+    /**
+     * Creates a snapshot. The arrays are owned by the snapshot afterwards.
+     * The ordinals of the abilities used in plain fields are -1 if not loaded.
+     */
+    public AbilitySnapshot(int playerLevel, long validUntil, int[] levels, double[] effectValues, double[] chances,
+                           int[] radii, int greenThumb, int agriculturist, int farmersLuck, int harvestMaster) {
+        this.playerLevel = playerLevel;
+        this.validUntil = validUntil;
+        this.levels = levels;
+        this.effectValues = effectValues;
+        this.chances = chances;
+        this.radii = radii;
+        this.growthModifier = getEffectValue(greenThumb);
+        this.yieldMultiplier = getEffectValue(agriculturist);
+        this.bonusChance = getChance(farmersLuck);
+        this.areaHarvestRadius = getRadius(harvestMaster);
+    }
+
+    /**
+     * Checks whether the snapshot still applies to a player at the given level and time
+     */
+    public boolean isValid(int playerLevel, long now) {
+        return this.playerLevel == playerLevel && now < validUntil;
+    }
+
+    /**
+     * Gets the effective level of an ability, 0 if locked, toggled off or on cooldown
+     */
+    public int getLevel(int ordinal) {
+        return ordinal >= 0 && ordinal < levels.length ? levels[ordinal] : 0;
+    }
+
+    public double getEffectValue(int ordinal) {
+        return ordinal >= 0 && ordinal < effectValues.length ? effectValues[ordinal] : 0.0;
+    }
+
+    public double getChance(int ordinal) {
+        return ordinal >= 0 && ordinal < chances.length ? chances[ordinal] : 0.0;
+    }
+
+    public int getRadius(int ordinal) {
+        return ordinal >= 0 && ordinal < radii.length ? radii[ordinal] : 0;
+    }
+
+    /**
+     * Gets the Green Thumb growth time modifier, 0 if inactive
+     */
+    public double getGrowthModifier() {
+        return growthModifier;
+    }
+
+    /**
+     * Gets the Agriculturist yield multiplier, 0 if inactive
+     */
+    public double getYieldMultiplier() {
+        return yieldMultiplier;
+    }
+
+    /**
+     * Gets the Farmer's Luck bonus chance, 0 if inactive
+     */
+    public double getBonusChance() {
+        return bonusChance;
+    }
+
+    /**
+     * Gets the Harvest Master area radius, 0 if inactive
+     */
+    public int getAreaHarvestRadius() {
+        return areaHarvestRadius;
+    }
+}
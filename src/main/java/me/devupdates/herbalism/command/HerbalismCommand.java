@@ -1,8 +1,11 @@
 package me.devupdates.herbalism.command;
 
 import me.devupdates.herbalism.core.HerbalismPlugin;
+import me.devupdates.herbalism.item.CustomItem;
 import me.devupdates.herbalism.player.HerbalismPlayer;
+import me.devupdates.herbalism.util.LatencyRecorder;
 import me.devupdates.herbalism.util.MessageUtil;
+import me.devupdates.herbalism.util.PerformanceMonitor;
 import org.bukkit.Bukkit;
 import org.bukkit.Material;
 import org.bukkit.command.Command;
@@ -53,6 +56,8 @@ public class HerbalismCommand implements CommandExecutor {
             case "load":
             case "give":
                 return executeLoad(sender, args);
+            case "perf":
+                return executePerf(sender, args);
             default:
                 return executeHelp(sender, args);
         }
@@ -83,8 +88,14 @@ public class HerbalismCommand implements CommandExecutor {
         }
         
         try {
-            plugin.reloadPlugin();
-            plugin.getLanguageManager().sendMessage(sender, "messages.plugin-reloaded");
+            plugin.reloadPlugin().whenComplete((result, error) -> {
+                if (error != null) {
+                    MessageUtil.error("Error during plugin reload: " + error.getMessage());
+                    plugin.getLanguageManager().sendMessage(sender, "messages.errors.unknown-error");
+                } else {
+                    plugin.getLanguageManager().sendMessage(sender, "messages.plugin-reloaded");
+                }
+            });
         } catch (Exception e) {
             MessageUtil.error("Error during plugin reload: " + e.getMessage());
             plugin.getLanguageManager().sendMessage(sender, "messages.errors.unknown-error");
@@ -157,6 +168,37 @@ public class HerbalismCommand implements CommandExecutor {
         return true;
     }
     
+    private boolean executePerf(CommandSender sender, String[] args) {
+        if (!sender.hasPermission("herbalism.command.perf")) {
+            plugin.getLanguageManager().sendMessage(sender, "messages.no-permission");
+            return true;
+        }
+        
+        PerformanceMonitor monitor = plugin.getPerformanceMonitor();
+        if (args.length > 1 && args[1].equalsIgnoreCase("reset")) {
+            monitor.reset();
+            plugin.getLanguageManager().sendMessage(sender, "messages.command.perf.reset");
+            return true;
+        }
+        
+        plugin.getLanguageManager().sendMultilineMessage(sender, "messages.command.perf.header");
+        for (LatencyRecorder.Snapshot snapshot : monitor.getSnapshots()) {
+            if (snapshot.getCount() == 0) continue;
+            
+            Map<String, Object> placeholders = plugin.getLanguageManager().createPlaceholders(
+                "name", snapshot.getName(),
+                "count", snapshot.getCount(),
+                "total", String.format("%.1f", snapshot.getTotalNanos() / 1_000_000.0),
+                "p50", String.format("%.1f", snapshot.getP50Nanos() / 1000.0),
+                "p99", String.format("%.1f", snapshot.getP99Nanos() / 1000.0),
+                "max", String.format("%.1f", snapshot.getMaxNanos() / 1000.0)
+            );
+            plugin.getLanguageManager().sendRawMessage(sender, "messages.command.perf.line", placeholders);
+        }
+        plugin.getLanguageManager().sendMultilineMessage(sender, "messages.command.perf.footer");
+        return true;
+    }
+    
     private boolean executeExp(CommandSender sender, String[] args) {
         if (!sender.hasPermission("herbalism.command.exp")) {
             plugin.getLanguageManager().sendMessage(sender, "messages.no-permission");
@@ -389,6 +431,25 @@ public class HerbalismCommand implements CommandExecutor {
     }
     
     private boolean handleLoadItem(CommandSender sender, Player targetPlayer, String itemId, int amount) {
+        // Try custom items from items.yml first
+        CustomItem customItem = plugin.getItemManager().getCustomItem(itemId);
+        if (customItem != null) {
+            targetPlayer.getInventory().addItem(customItem.createItemStack(amount));
+            
+            Map<String, Object> placeholders = plugin.getLanguageManager().createPlaceholders(
+                "amount", amount,
+                "item", customItem.getName(),
+                "player", targetPlayer.getName()
+            );
+            plugin.getLanguageManager().sendMessage(sender, "messages.command.load.success", placeholders);
+            
+            if (!sender.equals(targetPlayer)) {
+                plugin.getLanguageManager().sendMessage(targetPlayer, "messages.command.load.received", placeholders);
+            }
+            
+            return true;
+        }
+        
         // Try to create item from Material
         try {
             Material material = Material.valueOf(itemId.toUpperCase());
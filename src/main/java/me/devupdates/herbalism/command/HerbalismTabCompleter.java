@@ -2,6 +2,7 @@ package me.devupdates.herbalism.command;
 
 import me.devupdates.herbalism.core.HerbalismPlugin;
 import me.devupdates.herbalism.manager.CropManager;
+import me.devupdates.herbalism.manager.ItemManager;
 import org.bukkit.Bukkit;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandSender;
@@ -27,7 +28,7 @@ public class HerbalismTabCompleter implements TabCompleter {
         if (args.length == 1) {
             // First argument - subcommands
             return filterSuggestions(Arrays.asList(
-                "help", "about", "reload", "menu", "stats", "exp", "level", "load"
+                "help", "about", "reload", "menu", "stats", "exp", "level", "load", "perf"
             ), args[0]);
         }
         
@@ -52,6 +53,9 @@ public class HerbalismTabCompleter implements TabCompleter {
                 case "give":
                     return handleLoadTabComplete(sender, args);
                     
+                case "perf":
+                    return args.length == 2 ? filterSuggestions(Arrays.asList("reset"), args[1]) : Collections.emptyList();
+                    
                 default:
                     return Collections.emptyList();
             }
@@ -152,12 +156,12 @@ public class HerbalismTabCompleter implements TabCompleter {
     }
     
     private List<String> getItemIds(String partial) {
-        // TODO: Get item IDs from configuration
-        List<String> itemIds = Arrays.asList(
-            "magic_wheat_seeds", "golden_carrot_seeds", "farmers_hoe", "herbalists_staff",
-            "crop_guide", "soil_tester", "growth_detector", "time_crystal", "essence_of_growth"
-        );
-        return filterSuggestions(itemIds, partial);
+        ItemManager itemManager = plugin.getItemManager();
+        if (itemManager == null) {
+            return Collections.emptyList();
+        }
+        
+        return filterSuggestions(new ArrayList<>(itemManager.getCustomItems().keySet()), partial);
     }
     
     private List<String> getFertilizerIds(String partial) {
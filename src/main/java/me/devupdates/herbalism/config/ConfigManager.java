@@ -174,6 +174,62 @@ public class ConfigManager {
         return getMainConfig().getInt("crops.update-interval", 20);
     }
     
+    public int getCropTickBudgetMicros() {
+        return getMainConfig().getInt("crops.tick-budget-us", 2000);
+    }
+    
+    public int getCropWorkerThreads() {
+        return getMainConfig().getInt("crops.worker-threads", 2);
+    }
+    
+    public int getCropApplyQueueSize() {
+        return getMainConfig().getInt("crops.apply-queue-size", 10000);
+    }
+    
+    public int getCropEventBatchInterval() {
+        return getMainConfig().getInt("crops.event-batch-interval", 20);
+    }
+    
+    public int getMaxCropsPerChunk() {
+        return getMainConfig().getInt("crops.limits.max-per-chunk", 256);
+    }
+    
+    public int getMaxCropsPerWorld() {
+        return getMainConfig().getInt("crops.limits.max-per-world", 0);
+    }
+    
+    public boolean isLagGuardEnabled() {
+        return getMainConfig().getBoolean("crops.lag-guard.enabled", true);
+    }
+    
+    public double getLagGuardMsptThreshold() {
+        return getMainConfig().getDouble("crops.lag-guard.mspt-threshold", 45.0);
+    }
+    
+    public int getLagGuardDenseChunkSize() {
+        return getMainConfig().getInt("crops.lag-guard.dense-chunk-size", 128);
+    }
+    
+    public int getLagGuardSlowInterval() {
+        return getMainConfig().getInt("crops.lag-guard.slow-update-interval", 30);
+    }
+    
+    public long getInteractionCoalesceWindow() {
+        return getMainConfig().getLong("crops.interaction.coalesce-window", 250L);
+    }
+    
+    public long getInteractionInfoCooldown() {
+        return getMainConfig().getLong("crops.interaction.info-cooldown", 1000L);
+    }
+    
+    public int getBulkHarvestPerTick() {
+        return getMainConfig().getInt("crops.bulk-harvest-per-tick", 64);
+    }
+    
+    public boolean isCompactUnloadedCrops() {
+        return getMainConfig().getBoolean("crops.compact-unloaded", true);
+    }
+    
     public double getCropDecayMultiplier() {
         return getMainConfig().getDouble("crops.decay-multiplier", 2.0);
     }
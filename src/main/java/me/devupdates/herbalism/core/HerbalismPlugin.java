@@ -3,20 +3,27 @@ package me.devupdates.herbalism.core;
 import me.devupdates.herbalism.command.HerbalismCommand;
 import me.devupdates.herbalism.command.HerbalismTabCompleter;
 import me.devupdates.herbalism.config.ConfigManager;
+import me.devupdates.herbalism.crop.CropRegistry;
 import me.devupdates.herbalism.language.LanguageManager;
 import me.devupdates.herbalism.listener.BlockListener;
+import me.devupdates.herbalism.listener.ChunkListener;
 import me.devupdates.herbalism.manager.AbilityManager;
 import me.devupdates.herbalism.manager.CropManager;
 import me.devupdates.herbalism.manager.DatabaseManager;
 import me.devupdates.herbalism.manager.FertilizerManager;
+import me.devupdates.herbalism.manager.ItemManager;
 import me.devupdates.herbalism.manager.GuiManager;
 import me.devupdates.herbalism.manager.PlayerManager;
 // import me.devupdates.herbalism.manager.PlaceholderManager;
 import me.devupdates.herbalism.hologram.HologramManager;
+import me.devupdates.herbalism.scheduler.PlatformScheduler;
+import me.devupdates.herbalism.scheduler.TaskHandle;
 import me.devupdates.herbalism.util.MessageUtil;
+import me.devupdates.herbalism.util.PerformanceMonitor;
 import org.bukkit.command.PluginCommand;
 import org.bukkit.plugin.java.JavaPlugin;
-import org.bukkit.scheduler.BukkitTask;
+
+import java.util.concurrent.CompletableFuture;
 
 public final class HerbalismPlugin extends JavaPlugin {
 
@@ -28,10 +35,12 @@ public final class HerbalismPlugin extends JavaPlugin {
     private PlayerManager playerManager;
     private CropManager cropManager;
     private FertilizerManager fertilizerManager;
+    private ItemManager itemManager;
     private AbilityManager abilityManager;
     private GuiManager guiManager;
     private DatabaseManager databaseManager;
     private HologramManager hologramManager;
+    private PerformanceMonitor performanceMonitor;
     // private PlaceholderManager placeholderManager;
     
     // Commands
@@ -40,10 +49,14 @@ public final class HerbalismPlugin extends JavaPlugin {
     
     // Listeners
     private BlockListener blockListener;
+    private ChunkListener chunkListener;
     
     // Scheduled tasks
-    private BukkitTask saveTask;
-    private BukkitTask cropUpdateTask;
+    private PlatformScheduler platformScheduler;
+    private TaskHandle saveTask;
+    private TaskHandle cropUpdateTask;
+    private TaskHandle cropWorkTask;
+    private TaskHandle lagGuardTask;
     
     @Override
     public void onEnable() {
@@ -54,6 +67,12 @@ public final class HerbalismPlugin extends JavaPlugin {
         
         MessageUtil.info("Herbalism Reborn v" + getDescription().getVersion() + " is starting...");
         
+        // Pick the scheduler before any manager starts tasks
+        platformScheduler = PlatformScheduler.create(this);
+        if (platformScheduler.isRegionThreaded()) {
+            MessageUtil.info("Folia detected, using region schedulers");
+        }
+        
         if (!initializePlugin()) {
             getServer().getPluginManager().disablePlugin(this);
             return;
@@ -65,6 +84,9 @@ public final class HerbalismPlugin extends JavaPlugin {
         // Register listeners
         registerListeners();
         
+        // Crops are loaded per chunk; pick up the chunks that are already loaded
+        cropManager.loadLoadedChunks();
+        
         // Start scheduled tasks
         startScheduledTasks();
         
@@ -80,6 +102,12 @@ public final class HerbalismPlugin extends JavaPlugin {
         if (cropUpdateTask != null) {
             cropUpdateTask.cancel();
         }
+        if (cropWorkTask != null) {
+            cropWorkTask.cancel();
+        }
+        if (lagGuardTask != null) {
+            lagGuardTask.cancel();
+        }
         
         // Shutdown managers
         if (cropManager != null) {
@@ -125,6 +153,9 @@ public final class HerbalismPlugin extends JavaPlugin {
             // Initialize configuration
             configManager = new ConfigManager(this);
             
+            // Initialize latency recording before any listener is registered
+            performanceMonitor = new PerformanceMonitor();
+            
             // Initialize language system
             languageManager = new LanguageManager(this);
             
@@ -137,6 +168,9 @@ public final class HerbalismPlugin extends JavaPlugin {
             // Initialize fertilizer manager
             fertilizerManager = new FertilizerManager(this);
             
+            // Initialize item manager
+            itemManager = new ItemManager(this);
+            
             // Initialize ability manager
             abilityManager = new AbilityManager(this);
             
@@ -150,6 +184,9 @@ public final class HerbalismPlugin extends JavaPlugin {
                 MessageUtil.error("Failed to initialize database! Plugin will continue without data persistence.");
             }
             
+            // Crop counts must be in place before any listener or chunk can add crops
+            cropManager.loadCropCounts();
+            
             // Initialize hologram manager
             hologramManager = new HologramManager(this);
             
@@ -183,9 +220,11 @@ public final class HerbalismPlugin extends JavaPlugin {
     private void registerListeners() {
         // Initialize listeners
         blockListener = new BlockListener(this);
+        chunkListener = new ChunkListener(this);
         
         // Register listeners
         getServer().getPluginManager().registerEvents(blockListener, this);
+        getServer().getPluginManager().registerEvents(chunkListener, this);
         
         MessageUtil.info("Event listeners registered successfully!");
     }
@@ -195,28 +234,47 @@ public final class HerbalismPlugin extends JavaPlugin {
         int cropUpdateInterval = configManager.getCropUpdateInterval();
         
         // Schedule periodic player data saving
-        saveTask = getServer().getScheduler().runTaskTimerAsynchronously(this, () -> {
+        saveTask = platformScheduler.runAsyncTimer(() -> {
             if (playerManager != null) {
                 playerManager.performPeriodicSave();
             }
         }, 20L * saveInterval, 20L * saveInterval); // Convert seconds to ticks
         
-        // Schedule crop updates
-        cropUpdateTask = getServer().getScheduler().runTaskTimer(this, () -> {
+        // Schedule crop updates (computed off the main thread)
+        cropUpdateTask = platformScheduler.runAsyncTimer(() -> {
             if (cropManager != null) {
                 cropManager.updateCrops();
             }
         }, 20L, cropUpdateInterval); // Run every configured interval in ticks
         
+        // Apply computed crop updates in small slices every tick
+        cropWorkTask = platformScheduler.runGlobalTimer(() -> {
+            if (cropManager != null) {
+                cropManager.processCropUpdates();
+            }
+        }, 20L, 1L);
+        
+        // Watch the tick time to slow down crowded crop chunks while the server lags
+        lagGuardTask = platformScheduler.runGlobalTimer(() -> {
+            if (cropManager != null) {
+                cropManager.checkLag();
+            }
+        }, 100L, 100L);
+        
         MessageUtil.info("Scheduled tasks started:");
         MessageUtil.info("- Save interval: " + saveInterval + " seconds");
         MessageUtil.info("- Crop update interval: " + cropUpdateInterval + " ticks");
+        MessageUtil.info("- Crop tick budget: " + configManager.getCropTickBudgetMicros() + " us");
     }
     
     public static HerbalismPlugin getInstance() {
         return instance;
     }
     
+    public PlatformScheduler getPlatformScheduler() {
+        return platformScheduler;
+    }
+    
     public ConfigManager getConfigManager() {
         return configManager;
     }
@@ -237,6 +295,14 @@ public final class HerbalismPlugin extends JavaPlugin {
         return fertilizerManager;
     }
     
+    public ItemManager getItemManager() {
+        return itemManager;
+    }
+    
+    public PerformanceMonitor getPerformanceMonitor() {
+        return performanceMonitor;
+    }
+    
     public AbilityManager getAbilityManager() {
         return abilityManager;
     }
@@ -257,15 +323,21 @@ public final class HerbalismPlugin extends JavaPlugin {
     //     return placeholderManager;
     // }
     
-    public void reloadPlugin() {
+    /**
+     * Reloads all configurations and managers. The future completes once the
+     * crop types, which are compiled in the background, are in use.
+     */
+    public CompletableFuture<Void> reloadPlugin() {
         MessageUtil.info("Reloading Herbalism Reborn...");
         
         // Reload configurations
         configManager.reloadConfigs();
         languageManager.reloadLanguage();
         fertilizerManager.reload();
+        itemManager.reload();
         abilityManager.reload();
         hologramManager.reload();
+        CompletableFuture<CropRegistry> cropTypes = cropManager.reloadCropTypes();
         // placeholderManager.reload();
         
         // Restart scheduled tasks with new intervals
@@ -275,8 +347,14 @@ public final class HerbalismPlugin extends JavaPlugin {
         if (cropUpdateTask != null) {
             cropUpdateTask.cancel();
         }
+        if (cropWorkTask != null) {
+            cropWorkTask.cancel();
+        }
+        if (lagGuardTask != null) {
+            lagGuardTask.cancel();
+        }
         startScheduledTasks();
         
-        MessageUtil.info("Herbalism Reborn reloaded successfully!");
+        return cropTypes.thenAccept(registry -> MessageUtil.info("Herbalism Reborn reloaded successfully!"));
     }
 } 
\ No newline at end of file
@@ -0,0 +1,41 @@
+package me.devupdates.herbalism.crop;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Approximate set of the chunks of one world that contain crops. Each chunk hashes
+ * to one bit, backed by a crop counter so the bit clears once its crops are gone.
+ * A lookup is a single bit test; hash collisions only cause false positives.
+ */
+final class ChunkPresence {
+
+    private static final int SLOT_BITS = 14;
+    private static final int SLOT_MASK = (1 << SLOT_BITS) - 1;
+
+    private final AtomicLongArray bits = new AtomicLongArray(1 << (SLOT_BITS - 6));
+    private final int[] counts = new int[1 << SLOT_BITS];
+
+    boolean mightContain(int chunkX, int chunkZ) {
+        int slot = slot(chunkX, chunkZ);
+        return (bits.get(slot >>> 6) & (1L << slot)) != 0;
+    }
+
+    synchronized void add(int chunkX, int chunkZ) {
+        int slot = slot(chunkX, chunkZ);
+        if (counts[slot]++ == 0) {
+            bits.set(slot >>> 6, bits.get(slot >>> 6) | (1L << slot));
+        }
+    }
+
+    synchronized void remove(int chunkX, int chunkZ) {
+        int slot = slot(chunkX, chunkZ);
+        if (counts[slot] > 0 && --counts[slot] == 0) {
+            bits.set(slot >>> 6, bits.get(slot >>> 6) & ~(1L << slot));
+        }
+    }
+
+    private static int slot(int chunkX, int chunkZ) {
+        int h = chunkX * 0x9E3779B9 ^ chunkZ * 0x85EBCA6B;
+        return (h ^ (h >>> 16)) & SLOT_MASK;
+    }
+}
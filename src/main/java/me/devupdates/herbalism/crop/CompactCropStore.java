@@ -0,0 +1,402 @@
+package me.devupdates.herbalism.crop;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Keeps crops in parallel primitive arrays instead of one object per crop.
+ * Worlds, crop types and owners are stored once in lookup tables and referenced by int id,
+ * positions are packed into a long, plant times are kept in milliseconds and harvest
+ * times as milliseconds after planting.
+ * Used for crops of unloaded chunks, which only need to be turned back into
+ * {@link Crop} objects when their chunk loads again. Thread-safe.
+ */
+public class CompactCropStore {
+
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final byte FLAG_HARVESTED = 1;
+    private static final byte FLAG_DECAYED = 2;
+    private static final long MILLIS_PER_SECOND = 1000L;
+
+    // Lookup tables
+    private final List<UUID> worlds = new ArrayList<>();
+    private final Map<UUID, Integer> worldIds = new HashMap<>();
+    private final List<String> types = new ArrayList<>();
+    private final Map<String, Integer> typeIds = new HashMap<>();
+    private final List<UUID> owners = new ArrayList<>();
+    private final List<String> ownerNames = new ArrayList<>();
+    private final Map<UUID, Integer> ownerIds = new HashMap<>();
+
+    // One entry per slot
+    private long[] ids;
+    private long[] positions;
+    private int[] world;
+    private int[] type;
+    private int[] owner;
+    private long[] plantTimes;
+    private int[] growMillis;
+    private int[] durationSeconds;
+    private float[] growthModifier;
+    private byte[] flags;
+
+    // Fertilizing is rare, so it is kept out of the arrays
+    private final Map<Integer, UUID[]> fertilizedBy = new HashMap<>();
+    private final Map<Integer, ActiveFertilizer> activeFertilizers = new HashMap<>();
+    // Times that do not fit the arrays (over 24 days of growth, or partial-second durations)
+    private final Map<Integer, WideTimes> wideTimes = new HashMap<>();
+    // Timelines the plant and harvest time alone do not give back, e.g. of fertilized crops
+    private final Map<Integer, GrowthTimeline> timelines = new HashMap<>();
+
+    private final Map<Integer, Map<Long, SlotList>> chunks = new HashMap<>();
+    private int[] freeSlots = new int[16];
+    private int freeCount;
+    private int used;
+    private int size;
+
+    public CompactCropStore() {
+        allocate(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Stores the given crops. A crop must not be stored twice.
+     */
+    public synchronized void addAll(Collection<Crop> crops) {
+        for (Crop crop : crops) {
+            add(crop);
+        }
+    }
+
+    private void add(Crop crop) {
+        int slot = freeCount > 0 ? freeSlots[--freeCount] : nextSlot();
+
+        ids[slot] = crop.getId();
+        positions[slot] = packPosition(crop.getBlockX(), crop.getBlockY(), crop.getBlockZ());
+        world[slot] = intern(worlds, worldIds, crop.getWorldId());
+        type[slot] = intern(types, typeIds, crop.getCropType());
+        owner[slot] = internOwner(crop.getOwnerId(), crop.getOwnerName());
+        long plantTime = crop.getPlantTime();
+        long growTime = crop.getHarvestTime() - plantTime;
+        long duration = crop.getOriginalDuration();
+        plantTimes[slot] = plantTime;
+        if (growTime == (int) growTime && duration % MILLIS_PER_SECOND == 0
+                && duration / MILLIS_PER_SECOND <= Integer.MAX_VALUE) {
+            growMillis[slot] = (int) growTime;
+            durationSeconds[slot] = (int) (duration / MILLIS_PER_SECOND);
+        } else {
+            wideTimes.put(slot, new WideTimes(crop.getHarvestTime(), duration));
+        }
+        GrowthTimeline timeline = crop.getTimeline();
+        if (!timeline.isEvenFrom(plantTime)) {
+            timelines.put(slot, timeline);
+        }
+        growthModifier[slot] = (float) crop.getGrowthModifier();
+        flags[slot] = (byte) ((crop.isHarvested() ? FLAG_HARVESTED : 0) | (crop.isDecayed() ? FLAG_DECAYED : 0));
+
+        if (crop.hasAnyFertilizer()) {
+            fertilizedBy.put(slot, crop.getFertilizedBy().toArray(new UUID[0]));
+        }
+        String fertilizerId = crop.getFertilizerId();
+        if (fertilizerId != null) {
+            activeFertilizers.put(slot, new ActiveFertilizer(fertilizerId, crop.getFertilizerTime()));
+        }
+
+        chunks.computeIfAbsent(world[slot], k -> new HashMap<>())
+                .computeIfAbsent(CropIndex.chunkKey(crop.getChunkX(), crop.getChunkZ()), k -> new SlotList())
+                .add(slot);
+        size++;
+    }
+
+    /**
+     * Removes the crops of a chunk from the store and returns them as crop objects
+     */
+    public synchronized List<Crop> takeChunk(UUID worldId, int chunkX, int chunkZ) {
+        Integer worldIndex = worldIds.get(worldId);
+        if (worldIndex == null) return Collections.emptyList();
+
+        Map<Long, SlotList> worldChunks = chunks.get(worldIndex);
+        if (worldChunks == null) return Collections.emptyList();
+
+        SlotList slots = worldChunks.remove(CropIndex.chunkKey(chunkX, chunkZ));
+        if (slots == null) return Collections.emptyList();
+        if (worldChunks.isEmpty()) {
+            chunks.remove(worldIndex);
+        }
+
+        List<Crop> crops = new ArrayList<>(slots.size);
+        for (int i = 0; i < slots.size; i++) {
+            int slot = slots.slots[i];
+            crops.add(materialize(slot));
+            free(slot);
+        }
+        return crops;
+    }
+
+    /**
+     * Checks whether any crops of the chunk are stored
+     */
+    public synchronized boolean hasChunk(UUID worldId, int chunkX, int chunkZ) {
+        Integer worldIndex = worldIds.get(worldId);
+        if (worldIndex == null) return false;
+
+        Map<Long, SlotList> worldChunks = chunks.get(worldIndex);
+        return worldChunks != null && worldChunks.containsKey(CropIndex.chunkKey(chunkX, chunkZ));
+    }
+
+    /**
+     * Visits every stored crop without creating crop objects. The view is reused
+     * between calls and must not be kept.
+     */
+    public synchronized void forEach(Consumer<View> action) {
+        View view = new View();
+        for (Map<Long, SlotList> worldChunks : chunks.values()) {
+            for (SlotList slots : worldChunks.values()) {
+                for (int i = 0; i < slots.size; i++) {
+                    view.slot = slots.slots[i];
+                    action.accept(view);
+                }
+            }
+        }
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Roughly estimates the heap used by the arrays, in bytes
+     */
+    public synchronized long getMemoryUsage() {
+        // 3 longs, 5 ints, a float and a byte per slot
+        return (long) ids.length * (3 * Long.BYTES + 5 * Integer.BYTES + Float.BYTES + 1);
+    }
+
+    public synchronized void clear() {
+        worlds.clear();
+        worldIds.clear();
+        types.clear();
+        typeIds.clear();
+        owners.clear();
+        ownerNames.clear();
+        ownerIds.clear();
+        fertilizedBy.clear();
+        activeFertilizers.clear();
+        wideTimes.clear();
+        timelines.clear();
+        chunks.clear();
+        freeCount = 0;
+        used = 0;
+        size = 0;
+        allocate(INITIAL_CAPACITY);
+    }
+
+    private Crop materialize(int slot) {
+        long position = positions[slot];
+        Crop crop = new Crop(ids[slot], types.get(type[slot]),
+                owners.get(owner[slot]), ownerNames.get(owner[slot]), worlds.get(world[slot]),
+                unpackX(position), unpackY(position), unpackZ(position),
+                plantTimes[slot], getDuration(slot), getHarvestTime(slot));
+        crop.setHarvested((flags[slot] & FLAG_HARVESTED) != 0);
+        crop.setDecayed((flags[slot] & FLAG_DECAYED) != 0);
+        crop.restoreGrowthModifier(growthModifier[slot]);
+        GrowthTimeline timeline = timelines.get(slot);
+        if (timeline != null) {
+            crop.restoreTimeline(timeline);
+        }
+
+        UUID[] fertilizers = fertilizedBy.get(slot);
+        if (fertilizers != null) {
+            for (UUID playerId : fertilizers) {
+                crop.addFertilizedBy(playerId);
+            }
+        }
+        ActiveFertilizer active = activeFertilizers.get(slot);
+        if (active != null) {
+            crop.setFertilizer(active.id, active.appliedTime);
+        }
+        return crop;
+    }
+
+    private void free(int slot) {
+        fertilizedBy.remove(slot);
+        activeFertilizers.remove(slot);
+        wideTimes.remove(slot);
+        timelines.remove(slot);
+        if (freeCount == freeSlots.length) {
+            freeSlots = Arrays.copyOf(freeSlots, freeSlots.length * 2);
+        }
+        freeSlots[freeCount++] = slot;
+        size--;
+    }
+
+    private int nextSlot() {
+        if (used == ids.length) {
+            allocate(ids.length * 2);
+        }
+        return used++;
+    }
+
+    private void allocate(int capacity) {
+        ids = ids == null ? new long[capacity] : Arrays.copyOf(ids, capacity);
+        positions = positions == null ? new long[capacity] : Arrays.copyOf(positions, capacity);
+        world = world == null ? new int[capacity] : Arrays.copyOf(world, capacity);
+        type = type == null ? new int[capacity] : Arrays.copyOf(type, capacity);
+        owner = owner == null ? new int[capacity] : Arrays.copyOf(owner, capacity);
+        plantTimes = plantTimes == null ? new long[capacity] : Arrays.copyOf(plantTimes, capacity);
+        growMillis = growMillis == null ? new int[capacity] : Arrays.copyOf(growMillis, capacity);
+        durationSeconds = durationSeconds == null ? new int[capacity] : Arrays.copyOf(durationSeconds, capacity);
+        growthModifier = growthModifier == null ? new float[capacity] : Arrays.copyOf(growthModifier, capacity);
+        flags = flags == null ? new byte[capacity] : Arrays.copyOf(flags, capacity);
+    }
+
+    private int internOwner(UUID ownerId, String ownerName) {
+        Integer id = ownerIds.get(ownerId);
+        if (id == null) {
+            id = owners.size();
+            owners.add(ownerId);
+            ownerNames.add(ownerName);
+            ownerIds.put(ownerId, id);
+        } else if (ownerName != null) {
+            // Keep the most recent name
+            ownerNames.set(id, ownerName);
+        }
+        return id;
+    }
+
+    private static <T> int intern(List<T> values, Map<T, Integer> ids, T value) {
+        Integer id = ids.get(value);
+        if (id == null) {
+            id = values.size();
+            values.add(value);
+            ids.put(value, id);
+        }
+        return id;
+    }
+
+    private long getHarvestTime(int slot) {
+        WideTimes wide = wideTimes.get(slot);
+        return wide != null ? wide.harvestTime : plantTimes[slot] + growMillis[slot];
+    }
+
+    private long getDuration(int slot) {
+        WideTimes wide = wideTimes.get(slot);
+        return wide != null ? wide.duration : durationSeconds[slot] * MILLIS_PER_SECOND;
+    }
+
+    // 26 bits x, 26 bits z, 12 bits y
+    private static long packPosition(int x, int y, int z) {
+        return ((long) (x & 0x3FFFFFF) << 38) | ((long) (z & 0x3FFFFFF) << 12) | (y & 0xFFF);
+    }
+
+    private static int unpackX(long position) {
+        return (int) (position >> 38);
+    }
+
+    private static int unpackY(long position) {
+        return (int) (position << 52 >> 52);
+    }
+
+    private static int unpackZ(long position) {
+        return (int) (position << 26 >> 38);
+    }
+
+    /**
+     * Read-only view of one stored crop
+     */
+    public final class View {
+        private int slot;
+
+        private View() {
+        }
+
+        public long getId() {
+            return ids[slot];
+        }
+
+        public String getCropType() {
+            return types.get(type[slot]);
+        }
+
+        public UUID getOwnerId() {
+            return owners.get(owner[slot]);
+        }
+
+        public String getOwnerName() {
+            return ownerNames.get(owner[slot]);
+        }
+
+        public UUID getWorldId() {
+            return worlds.get(world[slot]);
+        }
+
+        public int getBlockX() {
+            return unpackX(positions[slot]);
+        }
+
+        public int getBlockY() {
+            return unpackY(positions[slot]);
+        }
+
+        public int getBlockZ() {
+            return unpackZ(positions[slot]);
+        }
+
+        public long getPlantTime() {
+            return plantTimes[slot];
+        }
+
+        public long getHarvestTime() {
+            return CompactCropStore.this.getHarvestTime(slot);
+        }
+
+        public boolean isHarvested() {
+            return (flags[slot] & FLAG_HARVESTED) != 0;
+        }
+
+        public boolean isDecayed() {
+            return (flags[slot] & FLAG_DECAYED) != 0;
+        }
+
+        public boolean isReadyForHarvest(long now) {
+            return !isHarvested() && !isDecayed() && now >= getHarvestTime();
+        }
+    }
+
+    private static final class ActiveFertilizer {
+        private final String id;
+        private final long appliedTime;
+
+        private ActiveFertilizer(String id, long appliedTime) {
+            this.id = id;
+            this.appliedTime = appliedTime;
+        }
+    }
+
+    private static final class WideTimes {
+        private final long harvestTime;
+        private final long duration;
+
+        private WideTimes(long harvestTime, long duration) {
+            this.harvestTime = harvestTime;
+            this.duration = duration;
+        }
+    }
+
+    private static final class SlotList {
+        private int[] slots = new int[8];
+        private int size;
+
+        private void add(int slot) {
+            if (size == slots.length) {
+                slots = Arrays.copyOf(slots, size * 2);
+            }
+            slots[size++] = slot;
+        }
+    }
+}
@@ -1,48 +1,93 @@
 package me.devupdates.herbalism.crop;
 
 import me.devupdates.herbalism.core.HerbalismPlugin;
+import me.devupdates.herbalism.manager.CropManager;
 import me.devupdates.herbalism.player.HerbalismPlayer;
 import me.devupdates.herbalism.util.TimeUtil;
+import me.devupdates.herbalism.util.TimingWheel;
 import org.bukkit.Location;
 import org.bukkit.Material;
+import org.bukkit.World;
 import org.bukkit.block.Block;
-import org.bukkit.block.BlockState;
-import org.bukkit.block.data.Ageable;
 import org.bukkit.entity.Player;
 
 import java.util.*;
 
 public class Crop {
     
-    private final UUID id;
+    private final long id;
     private final String cropType;
+    private final int cropTypeId;
     private final UUID ownerId;
     private final String ownerName;
-    private final Location location;
+    private final UUID worldId;
+    private final int blockX;
+    private final int blockY;
+    private final int blockZ;
     private final long plantTime;
     private final long originalDuration;
     
-    private long harvestTime;
-    private boolean harvested;
-    private boolean decayed;
-    private final Set<UUID> fertilizedBy;
-    private double growthModifier = 1.0;
+    // Read by the crop update workers; the harvest time is the timeline's ready time
+    private volatile GrowthTimeline timeline;
+    private volatile long harvestTime;
+    private volatile boolean harvested;
+    private volatile boolean decayed;
+    // Most crops are never fertilized, so the set is only created when needed
+    private Set<UUID> fertilizedBy;
+    private volatile double growthModifier = 1.0;
+    // Active fertilizer effect; the id is written last, so readers seeing it also see its time
+    private volatile long fertilizerTime;
+    private volatile String fertilizerId;
+    
+    // Scheduling state, owned by CropScheduler
+    private CropScheduler scheduler;
+    private TimingWheel.Timer<Crop> scheduleTimer;
+    private boolean queued;
+    private boolean retired;
+    
+    // Position in the owner index, owned by OwnerIndex
+    private OwnerIndex ownerIndex;
+    private OwnerIndex.HarvestKey ownerKey;
+    private volatile int stage = -1;
+    // Timing as of the last schedule, read by the update workers instead of the live state
+    private volatile CropSnapshot snapshot;
     
     public Crop(String cropType, UUID ownerId, String ownerName, Location location, long durationSeconds) {
-        this.id = UUID.randomUUID();
+        this(CropIds.next(), cropType, ownerId, ownerName,
+             location.getWorld() != null ? location.getWorld().getUID() : null,
+             location.getBlockX(), location.getBlockY(), location.getBlockZ(),
+             TimeUtil.getCurrentTimeMillis(), durationSeconds * 1000); // Convert to milliseconds
+    }
+    
+    private Crop(long id, String cropType, UUID ownerId, String ownerName, UUID worldId,
+                 int blockX, int blockY, int blockZ, long plantTime, long originalDuration) {
+        this(id, cropType, ownerId, ownerName, worldId, blockX, blockY, blockZ,
+             plantTime, originalDuration, plantTime + originalDuration);
+    }
+    
+    /**
+     * Restores a crop with its stored identity and timing, e.g. when loading it from storage
+     */
+    public Crop(long id, String cropType, UUID ownerId, String ownerName, UUID worldId,
+                int blockX, int blockY, int blockZ, long plantTime, long originalDuration, long harvestTime) {
+        this.id = id;
         this.cropType = cropType;
+        this.cropTypeId = CropRegistry.idOf(cropType);
         this.ownerId = ownerId;
         this.ownerName = ownerName;
-        this.location = location.clone();
-        this.plantTime = TimeUtil.getCurrentTimeMillis();
-        this.originalDuration = durationSeconds * 1000; // Convert to milliseconds
-        this.harvestTime = plantTime + originalDuration;
+        this.worldId = worldId;
+        this.blockX = blockX;
+        this.blockY = blockY;
+        this.blockZ = blockZ;
+        this.plantTime = plantTime;
+        this.originalDuration = originalDuration;
+        this.timeline = GrowthTimeline.restored(plantTime, originalDuration, harvestTime);
+        this.harvestTime = harvestTime;
         this.harvested = false;
         this.decayed = false;
-        this.fertilizedBy = new HashSet<>();
     }
     
-    public UUID getId() {
+    public long getId() {
         return id;
     }
     
@@ -50,6 +95,13 @@ public class Crop {
         return cropType;
     }
     
+    /**
+     * Gets the numeric id of this crop's type, for array lookups in the crop registry
+     */
+    public int getCropTypeId() {
+        return cropTypeId;
+    }
+    
     public UUID getOwnerId() {
         return ownerId;
     }
@@ -58,8 +110,39 @@ public class Crop {
         return ownerName;
     }
     
+    /**
+     * Gets the location of the farmland block. Built on demand, so callers may modify it.
+     */
     public Location getLocation() {
-        return location.clone();
+        return new Location(getWorld(), blockX, blockY, blockZ);
+    }
+    
+    public World getWorld() {
+        return worldId != null ? HerbalismPlugin.getInstance().getServer().getWorld(worldId) : null;
+    }
+    
+    public UUID getWorldId() {
+        return worldId;
+    }
+    
+    public int getBlockX() {
+        return blockX;
+    }
+    
+    public int getBlockY() {
+        return blockY;
+    }
+    
+    public int getBlockZ() {
+        return blockZ;
+    }
+    
+    public int getChunkX() {
+        return blockX >> 4;
+    }
+    
+    public int getChunkZ() {
+        return blockZ >> 4;
     }
     
     public long getPlantTime() {
@@ -75,7 +158,28 @@ public class Crop {
     }
     
     public void setHarvestTime(long harvestTime) {
-        this.harvestTime = harvestTime;
+        setTimeline(timeline.reachingAt(TimeUtil.getCurrentTimeMillis(), harvestTime));
+        reschedule();
+    }
+    
+    /**
+     * Gets the growth timeline, which gives the progress at any time and the ready time
+     */
+    public GrowthTimeline getTimeline() {
+        return timeline;
+    }
+    
+    private void setTimeline(GrowthTimeline timeline) {
+        this.timeline = timeline;
+        this.harvestTime = timeline.getReadyTime();
+    }
+    
+    /**
+     * Restores a stored timeline without rescheduling, replacing the even one built from
+     * the harvest time. Keeps the rate changes of fertilizers and when they end.
+     */
+    void restoreTimeline(GrowthTimeline timeline) {
+        setTimeline(timeline);
     }
     
     public boolean isHarvested() {
@@ -95,14 +199,21 @@ public class Crop {
     }
     
     public Set<UUID> getFertilizedBy() {
-        return new HashSet<>(fertilizedBy);
+        return fertilizedBy != null ? new HashSet<>(fertilizedBy) : new HashSet<>();
     }
     
     public boolean hasFertilizedBy(UUID playerId) {
-        return fertilizedBy.contains(playerId);
+        return fertilizedBy != null && fertilizedBy.contains(playerId);
+    }
+    
+    boolean hasAnyFertilizer() {
+        return fertilizedBy != null && !fertilizedBy.isEmpty();
     }
     
     public void addFertilizedBy(UUID playerId) {
+        if (fertilizedBy == null) {
+            fertilizedBy = new HashSet<>(2);
+        }
         fertilizedBy.add(playerId);
     }
     
@@ -113,11 +224,16 @@ public class Crop {
     public boolean isDecayTime() {
         if (harvested || decayed) return false;
         
+        return TimeUtil.getCurrentTimeMillis() >= getDecayTime();
+    }
+    
+    /**
+     * Gets the time at which this crop decays if it is not harvested
+     */
+    public long getDecayTime() {
         HerbalismPlugin plugin = HerbalismPlugin.getInstance();
         double decayMultiplier = plugin.getConfigManager().getCropDecayMultiplier();
-        long decayTime = harvestTime + (long) (originalDuration * decayMultiplier);
-        
-        return TimeUtil.getCurrentTimeMillis() >= decayTime;
+        return harvestTime + (long) (originalDuration * decayMultiplier);
     }
     
     public long getTimeUntilHarvest() {
@@ -128,18 +244,122 @@ public class Crop {
     public long getTimeUntilDecay() {
         if (isDecayTime()) return 0;
         
-        HerbalismPlugin plugin = HerbalismPlugin.getInstance();
-        double decayMultiplier = plugin.getConfigManager().getCropDecayMultiplier();
-        long decayTime = harvestTime + (long) (originalDuration * decayMultiplier);
-        
-        return Math.max(0, decayTime - TimeUtil.getCurrentTimeMillis());
+        return Math.max(0, getDecayTime() - TimeUtil.getCurrentTimeMillis());
     }
     
     public double getGrowthProgress() {
         if (harvested || decayed) return 1.0;
         
-        long elapsed = TimeUtil.getCurrentTimeMillis() - plantTime;
-        return Math.min(1.0, (double) elapsed / originalDuration);
+        GrowthTimeline current = timeline;
+        if (current.getTotal() <= 0) return 1.0;
+        return current.getProgressAt(TimeUtil.getCurrentTimeMillis()) / current.getTotal();
+    }
+    
+    /**
+     * Gets the visual age this crop should have at the given time
+     */
+    public int getGrowthStage(long now) {
+        CropManager.CropType type = getType();
+        if (type == null || type.getMaxAge() <= 0) return 0;
+        if (now >= harvestTime) return type.getMaxAge();
+        
+        return type.getStageAt((long) timeline.getProgressAt(now), originalDuration);
+    }
+    
+    /**
+     * Gets the visual age last written to the plant block, or -1 if unknown
+     */
+    public int getStage() {
+        return stage;
+    }
+    
+    void setStage(int stage) {
+        this.stage = stage;
+    }
+    
+    /**
+     * Resolves the current timing into a new snapshot and publishes it to the update workers.
+     * Must run on the thread owning the crop, since it reads the crop type and the config.
+     */
+    CropSnapshot takeSnapshot(long now) {
+        long nextStageTime = Long.MAX_VALUE;
+        CropManager.CropType type = getType();
+        if (type != null && now < harvestTime) {
+            int nextStage = getGrowthStage(now) + 1;
+            if (nextStage < type.getMaxAge()) {
+                nextStageTime = timeline.getTimeAt(type.getStageOffset(nextStage, originalDuration));
+            }
+        }
+        
+        CropSnapshot current = new CropSnapshot(harvested || decayed, harvestTime, getDecayTime(), nextStageTime);
+        snapshot = current;
+        return current;
+    }
+    
+    /**
+     * Gets the snapshot published by the last schedule, or null if the crop was never scheduled
+     */
+    CropSnapshot getSnapshot() {
+        return snapshot;
+    }
+    
+    private CropManager.CropType getType() {
+        return HerbalismPlugin.getInstance().getCropManager().getCropType(cropTypeId);
+    }
+    
+    CropScheduler getScheduler() {
+        return scheduler;
+    }
+    
+    void setScheduler(CropScheduler scheduler) {
+        this.scheduler = scheduler;
+    }
+    
+    TimingWheel.Timer<Crop> getScheduleTimer() {
+        return scheduleTimer;
+    }
+    
+    void setScheduleTimer(TimingWheel.Timer<Crop> scheduleTimer) {
+        this.scheduleTimer = scheduleTimer;
+    }
+    
+    boolean isRetired() {
+        return retired;
+    }
+    
+    void setRetired(boolean retired) {
+        this.retired = retired;
+    }
+    
+    boolean isQueued() {
+        return queued;
+    }
+    
+    void setQueued(boolean queued) {
+        this.queued = queued;
+    }
+    
+    OwnerIndex.HarvestKey getOwnerKey() {
+        return ownerKey;
+    }
+    
+    void setOwnerKey(OwnerIndex.HarvestKey ownerKey) {
+        this.ownerKey = ownerKey;
+    }
+    
+    void setOwnerIndex(OwnerIndex ownerIndex) {
+        this.ownerIndex = ownerIndex;
+    }
+    
+    private void reschedule() {
+        CropScheduler current = scheduler;
+        if (current != null) {
+            current.reschedule(this);
+        }
+        OwnerIndex index = ownerIndex;
+        if (index != null) {
+            index.reindex(this);
+        }
     }
     
     public String getFormattedTimeUntilHarvest() {
@@ -159,7 +379,16 @@ public class Crop {
     }
     
     public Block getBlock() {
-        return location.getBlock();
+        World world = getWorld();
+        return world != null ? world.getBlockAt(blockX, blockY, blockZ) : null;
+    }
+    
+    /**
+     * Gets the block the plant grows in, directly above the farmland
+     */
+    public Block getPlantBlock() {
+        World world = getWorld();
+        return world != null ? world.getBlockAt(blockX, blockY + 1, blockZ) : null;
     }
     
     public boolean isValidBlock() {
@@ -178,7 +407,8 @@ public class Crop {
     public void fertilize(UUID playerId, long timeReduction) {
         if (!hasFertilizedBy(playerId)) {
             addFertilizedBy(playerId);
-            harvestTime = Math.max(plantTime, harvestTime - timeReduction);
+            setTimeline(timeline.advancedBy(TimeUtil.getCurrentTimeMillis(), timeReduction));
+            reschedule();
         }
     }
     
@@ -186,130 +416,175 @@ public class Crop {
         if (!hasFertilizedBy(playerId)) {
             addFertilizedBy(playerId);
             long reduction = (long) (originalDuration * (percentReduction / 100.0));
-            harvestTime = Math.max(plantTime, harvestTime - reduction);
+            setTimeline(timeline.advancedBy(TimeUtil.getCurrentTimeMillis(), reduction));
+            reschedule();
         }
     }
     
-    public void updateBlockState() {
+    /**
+     * Queues the plant block for an update if its growth stage changed
+     */
+    public void updateBlockState(CropBlockWriter writer) {
         if (harvested || decayed) return;
         
-        Block block = getBlock();
-        if (block == null || block.getType() == Material.AIR) {
-            setDecayed(true);
-            return;
-        }
+        CropManager.CropType type = getType();
+        if (type == null || type.getMaxAge() <= 0) return;
         
-        // Update the visual growth state of the crop
-        if (block.getBlockData() instanceof Ageable ageable) {
-            int maxAge = ageable.getMaximumAge();
-            int currentAge = (int) (getGrowthProgress() * maxAge);
-            
-            if (isReadyForHarvest()) {
-                currentAge = maxAge;
-            }
-            
-            if (ageable.getAge() != currentAge) {
-                ageable.setAge(currentAge);
-                block.setBlockData(ageable);
-            }
+        int currentStage = getGrowthStage(TimeUtil.getCurrentTimeMillis());
+        if (currentStage != stage) {
+            writer.queue(this, currentStage, type.getStageData(currentStage));
         }
     }
     
     public void remove() {
-        Block block = getBlock();
-        if (block != null && block.getType() != Material.AIR) {
+        World world = getWorld();
+        if (world == null) return;
+        
+        // Do not load the chunk just to clear the plant; it is cleared when the chunk loads
+        if (!world.isChunkLoaded(getChunkX(), getChunkZ())) {
+            HerbalismPlugin.getInstance().getCropManager().queueRemoval(this);
+            return;
+        }
+        
+        Block block = world.getBlockAt(blockX, blockY + 1, blockZ);
+        if (block.getType() == Material.AIR) return;
+        
+        // Leave blocks alone that replaced the plant in the meantime
+        CropManager.CropType type = getType();
+        if (type == null || block.getType() == type.getPlantMaterial()) {
             block.setType(Material.AIR);
         }
     }
     
     public Map<String, Object> serialize() {
         Map<String, Object> data = new HashMap<>();
-        data.put("id", id.toString());
+        data.put("id", id);
         data.put("crop_type", cropType);
         data.put("owner_id", ownerId.toString());
         data.put("owner_name", ownerName);
-        data.put("world", location.getWorld().getName());
-        data.put("x", location.getX());
-        data.put("y", location.getY());
-        data.put("z", location.getZ());
+        World world = getWorld();
+        data.put("world", world != null ? world.getName() : null);
+        data.put("x", (double) blockX);
+        data.put("y", (double) blockY);
+        data.put("z", (double) blockZ);
         data.put("plant_time", plantTime);
         data.put("original_duration", originalDuration);
         data.put("harvest_time", harvestTime);
         data.put("harvested", harvested);
         data.put("decayed", decayed);
-        data.put("fertilized_by", fertilizedBy.stream().map(UUID::toString).toList());
+        data.put("fertilized_by", getFertilizedBy().stream().map(UUID::toString).toList());
         data.put("growth_modifier", growthModifier);
+        GrowthTimeline current = timeline;
+        data.put("growth_start", current.getStart());
+        data.put("growth_base", current.getBase());
+        data.put("growth_rate", current.getRate());
+        data.put("growth_rate_end", current.getRateEnd());
+        data.put("fertilizer", fertilizerId);
+        data.put("fertilizer_time", fertilizerTime);
         return data;
     }
     
     @SuppressWarnings("unchecked")
     public static Crop deserialize(Map<String, Object> data) {
-        UUID id = UUID.fromString((String) data.get("id"));
+        long id = ((Number) data.get("id")).longValue();
         String cropType = (String) data.get("crop_type");
         UUID ownerId = UUID.fromString((String) data.get("owner_id"));
         String ownerName = (String) data.get("owner_name");
         
         String worldName = (String) data.get("world");
-        double x = ((Number) data.get("x")).doubleValue();
-        double y = ((Number) data.get("y")).doubleValue();
-        double z = ((Number) data.get("z")).doubleValue();
-        
-        Location location = new Location(
-            HerbalismPlugin.getInstance().getServer().getWorld(worldName),
-            x, y, z
-        );
+        World world = worldName != null ? HerbalismPlugin.getInstance().getServer().getWorld(worldName) : null;
+        int x = (int) Math.floor(((Number) data.get("x")).doubleValue());
+        int y = (int) Math.floor(((Number) data.get("y")).doubleValue());
+        int z = (int) Math.floor(((Number) data.get("z")).doubleValue());
         
         long plantTime = ((Number) data.get("plant_time")).longValue();
         long originalDuration = ((Number) data.get("original_duration")).longValue();
         long harvestTime = ((Number) data.get("harvest_time")).longValue();
-        boolean harvested = (Boolean) data.get("harvested");
-        boolean decayed = (Boolean) data.get("decayed");
         
-        // Create crop with dummy duration since we'll set the actual times
-        Crop crop = new Crop(cropType, ownerId, ownerName, location, 1);
+        Crop crop = new Crop(id, cropType, ownerId, ownerName, world != null ? world.getUID() : null,
+                             x, y, z, plantTime, originalDuration, harvestTime);
+        crop.setHarvested((Boolean) data.get("harvested"));
+        crop.setDecayed((Boolean) data.get("decayed"));
         
-        // Set the actual field values using reflection or a constructor
-        try {
-            java.lang.reflect.Field idField = Crop.class.getDeclaredField("id");
-            idField.setAccessible(true);
-            idField.set(crop, id);
-            
-            java.lang.reflect.Field plantTimeField = Crop.class.getDeclaredField("plantTime");
-            plantTimeField.setAccessible(true);
-            plantTimeField.set(crop, plantTime);
-            
-            java.lang.reflect.Field originalDurationField = Crop.class.getDeclaredField("originalDuration");
-            originalDurationField.setAccessible(true);
-            originalDurationField.set(crop, originalDuration);
-            
-            crop.setHarvestTime(harvestTime);
-            crop.setHarvested(harvested);
-            crop.setDecayed(decayed);
-            
-            // Load fertilized by list
-            if (data.containsKey("fertilized_by")) {
-                List<String> fertilizedByStrings = (List<String>) data.get("fertilized_by");
-                for (String uuidString : fertilizedByStrings) {
-                    crop.addFertilizedBy(UUID.fromString(uuidString));
-                }
+        // Load fertilized by list
+        if (data.containsKey("fertilized_by")) {
+            List<String> fertilizedByStrings = (List<String>) data.get("fertilized_by");
+            for (String uuidString : fertilizedByStrings) {
+                crop.addFertilizedBy(UUID.fromString(uuidString));
             }
-            
-            // Load growth modifier
-            if (data.containsKey("growth_modifier")) {
-                crop.setGrowthModifier((Double) data.get("growth_modifier"));
-            }
-            
-        } catch (Exception e) {
-            HerbalismPlugin.getInstance().getLogger().severe("Error deserializing crop: " + e.getMessage());
+        }
+        
+        // Load growth modifier
+        if (data.containsKey("growth_modifier")) {
+            crop.growthModifier = ((Number) data.get("growth_modifier")).doubleValue();
+        }
+        
+        // Load the growth timeline; crops saved before it was stored keep the even one
+        if (data.get("growth_start") != null) {
+            crop.restoreTimeline(GrowthTimeline.of(originalDuration,
+                    ((Number) data.get("growth_start")).longValue(),
+                    ((Number) data.get("growth_base")).doubleValue(),
+                    ((Number) data.get("growth_rate")).doubleValue(),
+                    ((Number) data.get("growth_rate_end")).longValue()));
+        }
+        
+        // Load active fertilizer effect
+        if (data.get("fertilizer") != null) {
+            crop.setFertilizer((String) data.get("fertilizer"), ((Number) data.get("fertilizer_time")).longValue());
         }
         
         return crop;
     }
     
     /**
-     * Sets the growth modifier for this crop (used by fertilizers)
+     * Sets the growth modifier for this crop (used by fertilizers) for good
      */
     public void setGrowthModifier(double growthModifier) {
+        setGrowthModifier(growthModifier, Long.MAX_VALUE);
+    }
+    
+    /**
+     * Sets the growth modifier until the given time, after which the crop grows at the normal
+     * rate again. The ready time accounts for the end right away, before the effect is removed.
+     */
+    public void setGrowthModifier(double growthModifier, long until) {
+        applyGrowthModifier(growthModifier, until);
+        CropScheduler current = scheduler;
+        if (current != null) {
+            current.reschedule(this);
+        }
+    }
+    
+    /**
+     * Sets the growth modifier like {@link #setGrowthModifier(double, long)} without rescheduling,
+     * for bulk updates that reschedule all their crops at once afterwards
+     */
+    public void applyGrowthModifier(double growthModifier, long until) {
+        this.growthModifier = growthModifier;
+        setTimeline(timeline.withRate(TimeUtil.getCurrentTimeMillis(), growthModifier, until));
+        OwnerIndex index = ownerIndex;
+        if (index != null) {
+            index.reindex(this);
+        }
+    }
+    
+    /**
+     * Goes back to the normal growth rate. A timed modifier that already ran out is built
+     * into the timeline, so the timeline only changes if the modifier is still in effect.
+     */
+    public void clearGrowthModifier() {
+        if (timeline.getRateEnd() > TimeUtil.getCurrentTimeMillis()) {
+            setGrowthModifier(1.0);
+        } else {
+            this.growthModifier = 1.0;
+        }
+    }
+    
+    /**
+     * Restores a stored growth modifier without rescheduling. The stored harvest time
+     * already accounts for it.
+     */
+    void restoreGrowthModifier(double growthModifier) {
         this.growthModifier = growthModifier;
     }
     
@@ -320,17 +595,44 @@ public class Crop {
         return growthModifier;
     }
     
+    /**
+     * Gets the id of the fertilizer applied to this crop, or null if none is
+     */
+    public String getFertilizerId() {
+        return fertilizerId;
+    }
+    
+    /**
+     * Gets the time the current fertilizer was applied at
+     */
+    public long getFertilizerTime() {
+        return fertilizerTime;
+    }
+    
+    public boolean hasFertilizer() {
+        return fertilizerId != null;
+    }
+    
+    /**
+     * Sets the fertilizer applied to this crop, or removes it when the id is null.
+     * Does not touch the growth modifier, which the fertilizer manager sets alongside.
+     */
+    public void setFertilizer(String fertilizerId, long appliedTime) {
+        this.fertilizerTime = fertilizerId != null ? appliedTime : 0L;
+        this.fertilizerId = fertilizerId;
+    }
+    
     @Override
     public boolean equals(Object obj) {
         if (this == obj) return true;
         if (obj == null || getClass() != obj.getClass()) return false;
         Crop crop = (Crop) obj;
-        return Objects.equals(id, crop.id);
+        return id == crop.id;
     }
     
     @Override
     public int hashCode() {
-        return Objects.hash(id);
+        return Long.hashCode(id);
     }
     
     @Override
@@ -340,7 +642,10 @@ public class Crop {
                 ", cropType='" + cropType + '\'' +
                 ", ownerId=" + ownerId +
                 ", ownerName='" + ownerName + '\'' +
-                ", location=" + location +
+                ", worldId=" + worldId +
+                ", x=" + blockX +
+                ", y=" + blockY +
+                ", z=" + blockZ +
                 ", readyForHarvest=" + isReadyForHarvest() +
                 ", decayed=" + decayed +
                 '}';
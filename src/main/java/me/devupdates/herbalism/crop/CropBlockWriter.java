@@ -0,0 +1,108 @@
+package me.devupdates.herbalism.crop;
+
+import org.bukkit.Server;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.block.data.BlockData;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Collects crop growth-stage changes and writes them grouped by chunk section,
+ * so all changes to one section are applied back to back.
+ * Only used from the main thread.
+ */
+public class CropBlockWriter {
+
+    private final Server server;
+    private final Map<UUID, Map<Long, List<PendingWrite>>> pending = new HashMap<>();
+    private int size;
+
+    public CropBlockWriter(Server server) {
+        this.server = server;
+    }
+
+    /**
+     * Queues a growth stage to be shown on the crop's plant block
+     */
+    public void queue(Crop crop, int stage, BlockData blockData) {
+        int plantY = crop.getBlockY() + 1;
+        long sectionKey = sectionKey(crop.getChunkX(), plantY >> 4, crop.getChunkZ());
+
+        pending.computeIfAbsent(crop.getWorldId(), k -> new LinkedHashMap<>())
+                .computeIfAbsent(sectionKey, k -> new ArrayList<>())
+                .add(new PendingWrite(crop, stage, blockData));
+        size++;
+    }
+
+    /**
+     * Applies all queued changes. Crops whose plant block is gone are handed to the first
+     * callback instead of being written, crops whose stage was written to the second.
+     *
+     * @return the number of blocks changed
+     */
+    public int flush(Consumer<Crop> missingPlant, Consumer<Crop> stageChanged) {
+        if (size == 0) return 0;
+
+        int written = 0;
+        for (Map.Entry<UUID, Map<Long, List<PendingWrite>>> worldEntry : pending.entrySet()) {
+            World world = server.getWorld(worldEntry.getKey());
+            for (List<PendingWrite> section : worldEntry.getValue().values()) {
+                for (PendingWrite write : section) {
+                    if (world == null) {
+                        missingPlant.accept(write.crop);
+                        continue;
+                    }
+
+                    Crop crop = write.crop;
+                    // Skip chunks that unloaded since the write was queued instead of loading them
+                    if (!world.isChunkLoaded(crop.getChunkX(), crop.getChunkZ())) {
+                        continue;
+                    }
+
+                    Block block = world.getBlockAt(crop.getBlockX(), crop.getBlockY() + 1, crop.getBlockZ());
+                    if (block.getType() != write.blockData.getMaterial()) {
+                        missingPlant.accept(crop);
+                        continue;
+                    }
+
+                    // Only the age changes, so neighbours do not need a physics update
+                    block.setBlockData(write.blockData, false);
+                    crop.setStage(write.stage);
+                    stageChanged.accept(crop);
+                    written++;
+                }
+            }
+        }
+
+        pending.clear();
+        size = 0;
+        return written;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private static long sectionKey(int chunkX, int sectionY, int chunkZ) {
+        return ((long) (chunkX & 0x3FFFFF) << 42) | ((long) (chunkZ & 0x3FFFFF) << 20) | (sectionY & 0xFFFFF);
+    }
+
+    private static final class PendingWrite {
+        private final Crop crop;
+        private final int stage;
+        private final BlockData blockData;
+
+        private PendingWrite(Crop crop, int stage, BlockData blockData) {
+            this.crop = crop;
+            this.stage = stage;
+            this.blockData = blockData;
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package me.devupdates.herbalism.crop;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * All managed crops inside a single chunk, keyed by their packed position within the chunk.
+ * Uses a small open-addressing table so lookups never box or allocate.
+ */
+public class CropChunk {
+
+    private static final int EMPTY = Integer.MIN_VALUE;
+    private static final int TOMBSTONE = Integer.MIN_VALUE + 1;
+
+    private final UUID worldId;
+    private final int chunkX;
+    private final int chunkZ;
+
+    private int[] keys;
+    private Crop[] values;
+    private int size;
+    private int used; // size + tombstones
+
+    // Crops per 16-block section, counting both the farmland and the plant above it
+    private final int[] sectionCounts = new int[64];
+    private volatile long sectionMask;
+
+    public CropChunk(UUID worldId, int chunkX, int chunkZ) {
+        this.worldId = worldId;
+        this.chunkX = chunkX;
+        this.chunkZ = chunkZ;
+        this.keys = newKeyTable(16);
+        this.values = new Crop[16];
+    }
+
+    public UUID getWorldId() {
+        return worldId;
+    }
+
+    public int getChunkX() {
+        return chunkX;
+    }
+
+    public int getChunkZ() {
+        return chunkZ;
+    }
+
+    public long getChunkKey() {
+        return CropIndex.chunkKey(chunkX, chunkZ);
+    }
+
+    /**
+     * Packs block coordinates into a key that is unique within one chunk
+     */
+    public static int localKey(int x, int y, int z) {
+        return (y << 8) | ((z & 15) << 4) | (x & 15);
+    }
+
+    public synchronized Crop get(int localKey) {
+        int index = indexOf(localKey);
+        return index >= 0 ? values[index] : null;
+    }
+
+    /**
+     * Stores a crop, returning the crop previously at that position (if any)
+     */
+    public synchronized Crop put(int localKey, Crop crop) {
+        int index = indexOf(localKey);
+        if (index >= 0) {
+            Crop previous = values[index];
+            values[index] = crop;
+            return previous;
+        }
+
+        if ((used + 1) * 4 >= keys.length * 3) {
+            rehash(size * 4 >= keys.length ? keys.length * 2 : keys.length);
+        }
+
+        int mask = keys.length - 1;
+        int slot = mix(localKey) & mask;
+        while (keys[slot] != EMPTY && keys[slot] != TOMBSTONE) {
+            slot = (slot + 1) & mask;
+        }
+        if (keys[slot] == EMPTY) {
+            used++;
+        }
+        keys[slot] = localKey;
+        values[slot] = crop;
+        size++;
+        updateSections(localKey >> 8, 1);
+        return null;
+    }
+
+    /**
+     * Removes the crop at a position, but only if it is the given crop instance
+     */
+    public synchronized boolean remove(int localKey, Crop crop) {
+        int index = indexOf(localKey);
+        if (index < 0 || values[index] != crop) {
+            return false;
+        }
+        keys[index] = TOMBSTONE;
+        values[index] = null;
+        size--;
+        updateSections(localKey >> 8, -1);
+        return true;
+    }
+
+    /**
+     * Checks without locking whether a crop's farmland or plant may lie in the section at the given block height
+     */
+    public boolean hasSection(int y) {
+        return (sectionMask & (1L << ((y >> 4) & 63))) != 0;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    public synchronized boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Visits every crop in this chunk. The callback runs while the chunk is locked,
+     * so it must not modify this chunk.
+     */
+    public synchronized void forEach(Consumer<Crop> action) {
+        for (Crop crop : values) {
+            if (crop != null) {
+                action.accept(crop);
+            }
+        }
+    }
+
+    /**
+     * Returns a copy of all crops in this chunk which is safe to modify the index with
+     */
+    public synchronized List<Crop> getCrops() {
+        List<Crop> crops = new ArrayList<>(size);
+        for (Crop crop : values) {
+            if (crop != null) {
+                crops.add(crop);
+            }
+        }
+        return crops;
+    }
+
+    private void updateSections(int farmlandY, int delta) {
+        long mask = sectionMask;
+        int farmlandSection = (farmlandY >> 4) & 63;
+        int plantSection = ((farmlandY + 1) >> 4) & 63;
+        mask = updateSection(mask, farmlandSection, delta);
+        if (plantSection != farmlandSection) {
+            mask = updateSection(mask, plantSection, delta);
+        }
+        sectionMask = mask;
+    }
+
+    private long updateSection(long mask, int section, int delta) {
+        sectionCounts[section] += delta;
+        return sectionCounts[section] > 0 ? mask | (1L << section) : mask & ~(1L << section);
+    }
+
+    private int indexOf(int localKey) {
+        int mask = keys.length - 1;
+        int slot = mix(localKey) & mask;
+        while (true) {
+            int key = keys[slot];
+            if (key == localKey) {
+                return slot;
+            }
+            if (key == EMPTY) {
+                return -1;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    private void rehash(int capacity) {
+        int[] oldKeys = keys;
+        Crop[] oldValues = values;
+        keys = newKeyTable(capacity);
+        values = new Crop[capacity];
+        used = size;
+
+        int mask = capacity - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldValues[i] != null) {
+                int slot = mix(oldKeys[i]) & mask;
+                while (keys[slot] != EMPTY) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private static int[] newKeyTable(int capacity) {
+        int[] table = new int[capacity];
+        Arrays.fill(table, EMPTY);
+        return table;
+    }
+
+    private static int mix(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,68 @@
+package me.devupdates.herbalism.crop;
+
+import java.util.UUID;
+
+/**
+ * A change in a crop's lifecycle, published through the {@link CropEventBus}.
+ * The stage is captured when the event is created, since batched listeners
+ * receive it later, when the crop may have moved on.
+ */
+public final class CropEvent {
+
+    public enum Type {
+        /** A crop was planted, including sustainable crops replanting themselves */
+        PLANTED,
+        /** The plant moved to a new growth stage */
+        STAGE_CHANGED,
+        /** The crop became ready for harvest */
+        READY,
+        /** The crop was harvested */
+        HARVESTED,
+        /** The crop decayed and was removed */
+        DECAYED,
+        /** The crop was broken or its plant disappeared */
+        REMOVED,
+        /** The chunk of the crop unloaded; the crop lives on in storage */
+        UNLOADED
+    }
+
+    private final Type type;
+    private final Crop crop;
+    private final UUID playerId;
+    private final int stage;
+    private final long time;
+
+    public CropEvent(Type type, Crop crop, UUID playerId, long time) {
+        this.type = type;
+        this.crop = crop;
+        this.playerId = playerId;
+        this.stage = crop.getStage();
+        this.time = time;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public Crop getCrop() {
+        return crop;
+    }
+
+    /**
+     * Gets the player who caused the change, or null if it happened on its own
+     */
+    public UUID getPlayerId() {
+        return playerId;
+    }
+
+    /**
+     * Gets the growth stage shown when the event was created, or -1 if none was shown yet
+     */
+    public int getStage() {
+        return stage;
+    }
+
+    public long getTime() {
+        return time;
+    }
+}
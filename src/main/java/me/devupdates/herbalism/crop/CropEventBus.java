@@ -0,0 +1,171 @@
+package me.devupdates.herbalism.crop;
+
+import me.devupdates.herbalism.scheduler.PlatformScheduler;
+import me.devupdates.herbalism.scheduler.TaskHandle;
+import me.devupdates.herbalism.util.MessageUtil;
+import me.devupdates.herbalism.util.TimeUtil;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Delivers crop lifecycle events to listeners.
+ * Synchronous listeners run on the thread that published the event, which owns the
+ * crop's chunk. Batched listeners get the events collected since their last delivery
+ * on an async thread. Publishing a type nobody listens to costs a single bit test.
+ */
+public class CropEventBus {
+
+    private final PlatformScheduler scheduler;
+    private final long flushPeriodTicks;
+    private final Map<CropEvent.Type, List<Consumer<CropEvent>>> listeners = new EnumMap<>(CropEvent.Type.class);
+    private final List<BatchedListener> batchedListeners = new CopyOnWriteArrayList<>();
+
+    // One bit per event type with at least one listener
+    private volatile int subscribedTypes;
+    private TaskHandle flushTask;
+
+    public CropEventBus(PlatformScheduler scheduler, long flushPeriodTicks) {
+        this.scheduler = scheduler;
+        this.flushPeriodTicks = Math.max(1L, flushPeriodTicks);
+        for (CropEvent.Type type : CropEvent.Type.values()) {
+            listeners.put(type, new CopyOnWriteArrayList<>());
+        }
+    }
+
+    /**
+     * Subscribes a listener that is called right away, on the thread owning the crop
+     */
+    public synchronized void subscribe(Set<CropEvent.Type> types, Consumer<CropEvent> listener) {
+        for (CropEvent.Type type : types) {
+            listeners.get(type).add(listener);
+        }
+        updateSubscribedTypes();
+    }
+
+    public void subscribe(CropEvent.Type type, Consumer<CropEvent> listener) {
+        subscribe(EnumSet.of(type), listener);
+    }
+
+    /**
+     * Subscribes a listener that receives the events in batches on an async thread
+     */
+    public synchronized void subscribeBatched(Set<CropEvent.Type> types, Consumer<List<CropEvent>> listener) {
+        batchedListeners.add(new BatchedListener(EnumSet.copyOf(types), listener));
+        updateSubscribedTypes();
+
+        if (flushTask == null) {
+            flushTask = scheduler.runAsyncTimer(this::flush, flushPeriodTicks, flushPeriodTicks);
+        }
+    }
+
+    /**
+     * Removes a listener from every type it was subscribed to, synchronous or batched
+     */
+    public synchronized void unsubscribe(Object listener) {
+        for (List<Consumer<CropEvent>> typeListeners : listeners.values()) {
+            typeListeners.remove(listener);
+        }
+        batchedListeners.removeIf(batched -> batched.listener == listener);
+        updateSubscribedTypes();
+    }
+
+    public boolean hasSubscribers(CropEvent.Type type) {
+        return (subscribedTypes & (1 << type.ordinal())) != 0;
+    }
+
+    /**
+     * Publishes an event. Nothing is allocated if nobody listens to the type.
+     *
+     * @param playerId the player who caused the change, or null
+     */
+    public void publish(CropEvent.Type type, Crop crop, UUID playerId) {
+        if (!hasSubscribers(type)) return;
+
+        CropEvent event = new CropEvent(type, crop, playerId, TimeUtil.getCurrentTimeMillis());
+        for (Consumer<CropEvent> listener : listeners.get(type)) {
+            try {
+                listener.accept(event);
+            } catch (Exception e) {
+                MessageUtil.error("Error in crop event listener for " + type + ": " + e.getMessage());
+            }
+        }
+        for (BatchedListener batched : batchedListeners) {
+            if (batched.types.contains(type)) {
+                batched.pending.add(event);
+            }
+        }
+    }
+
+    /**
+     * Delivers all pending events to the batched listeners
+     */
+    public void flush() {
+        for (BatchedListener batched : batchedListeners) {
+            if (batched.pending.isEmpty()) continue;
+
+            List<CropEvent> events = new ArrayList<>();
+            CropEvent event;
+            while ((event = batched.pending.poll()) != null) {
+                events.add(event);
+            }
+
+            try {
+                batched.listener.accept(events);
+            } catch (Exception e) {
+                MessageUtil.error("Error in batched crop event listener: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Stops batched delivery after handing out what is still pending
+     */
+    public synchronized void shutdown() {
+        if (flushTask != null) {
+            flushTask.cancel();
+            flushTask = null;
+        }
+        flush();
+        for (List<Consumer<CropEvent>> typeListeners : listeners.values()) {
+            typeListeners.clear();
+        }
+        batchedListeners.clear();
+        subscribedTypes = 0;
+    }
+
+    private void updateSubscribedTypes() {
+        int types = 0;
+        for (Map.Entry<CropEvent.Type, List<Consumer<CropEvent>>> entry : listeners.entrySet()) {
+            if (!entry.getValue().isEmpty()) {
+                types |= 1 << entry.getKey().ordinal();
+            }
+        }
+        for (BatchedListener batched : batchedListeners) {
+            for (CropEvent.Type type : batched.types) {
+                types |= 1 << type.ordinal();
+            }
+        }
+        subscribedTypes = types;
+    }
+
+    private static final class BatchedListener {
+        private final Set<CropEvent.Type> types;
+        private final Consumer<List<CropEvent>> listener;
+        private final Queue<CropEvent> pending = new ConcurrentLinkedQueue<>();
+
+        private BatchedListener(Set<CropEvent.Type> types, Consumer<List<CropEvent>> listener) {
+            this.types = types;
+            this.listener = listener;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package me.devupdates.herbalism.crop;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generates 64-bit crop ids. The upper bits are the milliseconds since {@link #EPOCH},
+ * the lower bits a sequence within that millisecond, so ids only ever grow and stay
+ * unique across restarts without going through a random source.
+ */
+public final class CropIds {
+
+    /** 2024-01-01T00:00:00Z */
+    private static final long EPOCH = 1704067200000L;
+    private static final int SEQUENCE_BITS = 16;
+
+    private static final AtomicLong LAST = new AtomicLong();
+
+    private CropIds() {
+    }
+
+    /**
+     * Gets a new id, greater than every id handed out or stored before
+     */
+    public static long next() {
+        long floor = (System.currentTimeMillis() - EPOCH) << SEQUENCE_BITS;
+        // Bursts beyond the sequence space and clock steps backwards just borrow from later milliseconds
+        return LAST.updateAndGet(last -> Math.max(last + 1, floor));
+    }
+
+    /**
+     * Makes sure future ids are greater than the given one, e.g. the highest stored id
+     */
+    public static void advancePast(long id) {
+        LAST.accumulateAndGet(id, Math::max);
+    }
+}
@@ -0,0 +1,238 @@
+package me.devupdates.herbalism.crop;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Spatial index of all managed crops, partitioned by world and chunk.
+ * Crops are stored by the block position of their farmland.
+ */
+public class CropIndex {
+
+    private final Map<UUID, Map<Long, CropChunk>> worlds = new ConcurrentHashMap<>();
+    private final Map<Long, Crop> cropsById = new ConcurrentHashMap<>();
+    private final Map<UUID, AtomicInteger> worldSizes = new ConcurrentHashMap<>();
+    private final Map<UUID, ChunkPresence> presence = new ConcurrentHashMap<>();
+    private final AtomicInteger size = new AtomicInteger();
+
+    /**
+     * Packs chunk coordinates into a single long key
+     */
+    public static long chunkKey(int chunkX, int chunkZ) {
+        return ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+    }
+
+    public static int chunkX(long chunkKey) {
+        return (int) (chunkKey >> 32);
+    }
+
+    public static int chunkZ(long chunkKey) {
+        return (int) chunkKey;
+    }
+
+    public Crop get(UUID worldId, int x, int y, int z) {
+        Map<Long, CropChunk> chunks = worlds.get(worldId);
+        if (chunks == null) return null;
+
+        CropChunk chunk = chunks.get(chunkKey(x >> 4, z >> 4));
+        return chunk != null ? chunk.get(CropChunk.localKey(x, y, z)) : null;
+    }
+
+    public Crop get(World world, int x, int y, int z) {
+        return world != null ? get(world.getUID(), x, y, z) : null;
+    }
+
+    public Crop get(Block block) {
+        return get(block.getWorld(), block.getX(), block.getY(), block.getZ());
+    }
+
+    public Crop get(Location location) {
+        return get(location.getWorld(), location.getBlockX(), location.getBlockY(), location.getBlockZ());
+    }
+
+    /**
+     * Checks whether a block may belong to a crop, as its farmland or its plant, without
+     * allocating outside farm areas. False means there is certainly no crop there.
+     */
+    public boolean mightHaveCrop(UUID worldId, int x, int y, int z) {
+        ChunkPresence worldPresence = presence.get(worldId);
+        if (worldPresence == null || !worldPresence.mightContain(x >> 4, z >> 4)) return false;
+
+        CropChunk chunk = getChunk(worldId, x >> 4, z >> 4);
+        return chunk != null && chunk.hasSection(y);
+    }
+
+    public Crop getById(long id) {
+        return cropsById.get(id);
+    }
+
+    /**
+     * Adds a crop to the index. Fails if another crop already occupies the position.
+     */
+    public boolean add(Crop crop) {
+        Map<Long, CropChunk> chunks = worlds.computeIfAbsent(crop.getWorldId(), k -> new ConcurrentHashMap<>());
+        long key = chunkKey(crop.getChunkX(), crop.getChunkZ());
+        int localKey = CropChunk.localKey(crop.getBlockX(), crop.getBlockY(), crop.getBlockZ());
+
+        while (true) {
+            CropChunk chunk = chunks.computeIfAbsent(key,
+                    k -> new CropChunk(crop.getWorldId(), crop.getChunkX(), crop.getChunkZ()));
+            synchronized (chunk) {
+                // The chunk may have been dropped while empty before we locked it
+                if (chunks.get(key) != chunk) {
+                    continue;
+                }
+                if (chunk.get(localKey) != null) {
+                    return false;
+                }
+                chunk.put(localKey, crop);
+                break;
+            }
+        }
+
+        cropsById.put(crop.getId(), crop);
+        worldSizes.computeIfAbsent(crop.getWorldId(), k -> new AtomicInteger()).incrementAndGet();
+        presence.computeIfAbsent(crop.getWorldId(), k -> new ChunkPresence()).add(crop.getChunkX(), crop.getChunkZ());
+        size.incrementAndGet();
+        return true;
+    }
+
+    /**
+     * Replaces the crop at the same position (used when sustainable crops replant)
+     */
+    public void replace(Crop oldCrop, Crop newCrop) {
+        remove(oldCrop);
+        add(newCrop);
+    }
+
+    /**
+     * Removes a crop from the index if it is still registered
+     */
+    public boolean remove(Crop crop) {
+        Map<Long, CropChunk> chunks = worlds.get(crop.getWorldId());
+        if (chunks == null) return false;
+
+        long key = chunkKey(crop.getChunkX(), crop.getChunkZ());
+        CropChunk chunk = chunks.get(key);
+        if (chunk == null) return false;
+
+        boolean removed;
+        synchronized (chunk) {
+            removed = chunk.remove(CropChunk.localKey(crop.getBlockX(), crop.getBlockY(), crop.getBlockZ()), crop);
+            if (removed && chunk.isEmpty()) {
+                chunks.remove(key, chunk);
+            }
+        }
+
+        if (removed) {
+            cropsById.remove(crop.getId(), crop);
+            AtomicInteger worldSize = worldSizes.get(crop.getWorldId());
+            if (worldSize != null) {
+                worldSize.decrementAndGet();
+            }
+            ChunkPresence worldPresence = presence.get(crop.getWorldId());
+            if (worldPresence != null) {
+                worldPresence.remove(crop.getChunkX(), crop.getChunkZ());
+            }
+            size.decrementAndGet();
+        }
+        return removed;
+    }
+
+    public CropChunk getChunk(UUID worldId, int chunkX, int chunkZ) {
+        Map<Long, CropChunk> chunks = worlds.get(worldId);
+        return chunks != null ? chunks.get(chunkKey(chunkX, chunkZ)) : null;
+    }
+
+    /**
+     * Gets the number of crops in a chunk
+     */
+    public int getChunkSize(UUID worldId, int chunkX, int chunkZ) {
+        CropChunk chunk = getChunk(worldId, chunkX, chunkZ);
+        return chunk != null ? chunk.size() : 0;
+    }
+
+    /**
+     * Gets the number of crops in a world
+     */
+    public int getWorldSize(UUID worldId) {
+        AtomicInteger worldSize = worldSizes.get(worldId);
+        return worldSize != null ? worldSize.get() : 0;
+    }
+
+    /**
+     * Gets all crops in a chunk, or an empty list if the chunk has none
+     */
+    public List<Crop> getCropsInChunk(UUID worldId, int chunkX, int chunkZ) {
+        CropChunk chunk = getChunk(worldId, chunkX, chunkZ);
+        return chunk != null ? chunk.getCrops() : Collections.emptyList();
+    }
+
+    /**
+     * Gets all non-empty chunks of a world
+     */
+    public Collection<CropChunk> getChunks(UUID worldId) {
+        Map<Long, CropChunk> chunks = worlds.get(worldId);
+        return chunks != null ? chunks.values() : Collections.emptyList();
+    }
+
+    /**
+     * Gets the ids of all worlds that currently contain crops
+     */
+    public Set<UUID> getWorldIds() {
+        return worlds.keySet();
+    }
+
+    public Collection<Crop> getAllCrops() {
+        return cropsById.values();
+    }
+
+    /**
+     * Gets all crops in a world within a horizontal radius of a block position
+     */
+    public List<Crop> getCropsInRadius(UUID worldId, int centerX, int centerZ, int radius) {
+        List<Crop> result = new ArrayList<>();
+        Map<Long, CropChunk> chunks = worlds.get(worldId);
+        if (chunks == null) return result;
+
+        int radiusSquared = radius * radius;
+        for (int cx = (centerX - radius) >> 4; cx <= (centerX + radius) >> 4; cx++) {
+            for (int cz = (centerZ - radius) >> 4; cz <= (centerZ + radius) >> 4; cz++) {
+                CropChunk chunk = chunks.get(chunkKey(cx, cz));
+                if (chunk == null) continue;
+
+                chunk.forEach(crop -> {
+                    int dx = crop.getBlockX() - centerX;
+                    int dz = crop.getBlockZ() - centerZ;
+                    if (dx * dx + dz * dz <= radiusSquared) {
+                        result.add(crop);
+                    }
+                });
+            }
+        }
+        return result;
+    }
+
+    public int size() {
+        return size.get();
+    }
+
+    public void clear() {
+        worlds.clear();
+        cropsById.clear();
+        worldSizes.clear();
+        presence.clear();
+        size.set(0);
+    }
+}
@@ -0,0 +1,41 @@
+package me.devupdates.herbalism.crop;
+
+/**
+ * A change to the world computed off the main thread for a crop whose transition became due
+ */
+public final class CropMutation {
+
+    public enum Type {
+        /** The plant moved to a new growth stage */
+        GROW,
+        /** The crop became ready for harvest */
+        READY,
+        /** The crop decayed and must be removed */
+        DECAY
+    }
+
+    private final Crop crop;
+    private final Type type;
+    private final long dueTime;
+
+    public CropMutation(Crop crop, Type type, long dueTime) {
+        this.crop = crop;
+        this.type = type;
+        this.dueTime = dueTime;
+    }
+
+    public Crop getCrop() {
+        return crop;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * Gets the time at which the transition behind this mutation became due
+     */
+    public long getDueTime() {
+        return dueTime;
+    }
+}
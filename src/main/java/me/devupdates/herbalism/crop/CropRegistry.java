@@ -0,0 +1,99 @@
+package me.devupdates.herbalism.crop;
+
+import me.devupdates.herbalism.manager.CropManager;
+import org.bukkit.Material;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Immutable, versioned set of crop types. Types are looked up by a dense int id,
+ * which is assigned once per type key and stays the same across reloads, so crops
+ * can keep their id while the registry is swapped out underneath them.
+ */
+public final class CropRegistry {
+
+    private static final ConcurrentHashMap<String, Integer> IDS = new ConcurrentHashMap<>();
+    private static final AtomicInteger NEXT_ID = new AtomicInteger();
+
+    private final long version;
+    private final CropManager.CropType[] byId;
+    private final List<CropManager.CropType> types;
+    private final Map<Material, CropManager.CropType> bySeed;
+
+    private CropRegistry(long version, CropManager.CropType[] byId, List<CropManager.CropType> types,
+                         Map<Material, CropManager.CropType> bySeed) {
+        this.version = version;
+        this.byId = byId;
+        this.types = types;
+        this.bySeed = bySeed;
+    }
+
+    /**
+     * Gets the numeric id of a crop type key, assigning a new one if the key is unknown
+     */
+    public static int idOf(String key) {
+        if (key == null) return -1;
+
+        Integer id = IDS.get(key);
+        return id != null ? id : IDS.computeIfAbsent(key, k -> NEXT_ID.getAndIncrement());
+    }
+
+    /**
+     * Builds a registry from the given types, in iteration order
+     */
+    public static CropRegistry compile(long version, Collection<CropManager.CropType> types) {
+        int maxId = -1;
+        for (CropManager.CropType type : types) {
+            maxId = Math.max(maxId, type.getNumericId());
+        }
+
+        CropManager.CropType[] byId = new CropManager.CropType[maxId + 1];
+        Map<Material, CropManager.CropType> bySeed = new EnumMap<>(Material.class);
+        for (CropManager.CropType type : types) {
+            byId[type.getNumericId()] = type;
+            // The first type using a seed wins, as with the previous linear search
+            bySeed.putIfAbsent(type.getSeedMaterial(), type);
+        }
+        return new CropRegistry(version, byId, Collections.unmodifiableList(new ArrayList<>(types)), bySeed);
+    }
+
+    public static CropRegistry empty() {
+        return new CropRegistry(0, new CropManager.CropType[0], Collections.emptyList(),
+                new EnumMap<>(Material.class));
+    }
+
+    public CropManager.CropType get(int id) {
+        return id >= 0 && id < byId.length ? byId[id] : null;
+    }
+
+    public CropManager.CropType get(String key) {
+        Integer id = key != null ? IDS.get(key) : null;
+        return id != null ? get(id) : null;
+    }
+
+    /**
+     * Gets the crop type planted with the given seed, or null if the material is no seed
+     */
+    public CropManager.CropType getBySeed(Material seedMaterial) {
+        return seedMaterial != null ? bySeed.get(seedMaterial) : null;
+    }
+
+    public List<CropManager.CropType> getAll() {
+        return types;
+    }
+
+    public int size() {
+        return types.size();
+    }
+
+    public long getVersion() {
+        return version;
+    }
+}
@@ -0,0 +1,132 @@
+package me.devupdates.herbalism.crop;
+
+import me.devupdates.herbalism.util.TimeUtil;
+import me.devupdates.herbalism.util.TimingWheel;
+
+import java.util.Collection;
+
+/**
+ * Keeps every crop on a timing wheel at the instant of its next state change
+ * (next growth stage, readiness or decay), so updates only touch crops that are due.
+ */
+public class CropScheduler {
+
+    // One server tick; coarser than this would only delay transitions
+    private static final long RESOLUTION_MILLIS = 50L;
+
+    private final TimingWheel<Crop> wheel;
+    private volatile LagGuard lagGuard;
+
+    public CropScheduler() {
+        this.wheel = new TimingWheel<>(RESOLUTION_MILLIS, TimeUtil.getCurrentTimeMillis());
+    }
+
+    /**
+     * Schedules a crop at its next transition, replacing any earlier schedule.
+     * Takes a new snapshot of the crop, so it must run on the thread owning it.
+     */
+    public synchronized void schedule(Crop crop) {
+        if (crop.isRetired()) return;
+        
+        long now = TimeUtil.getCurrentTimeMillis();
+        schedule(crop, crop.takeSnapshot(now), now);
+    }
+
+    /**
+     * Schedules a crop at the next transition of a snapshot taken earlier,
+     * for threads that do not own the crop. Ignored if the owning thread took a newer
+     * snapshot in the meantime, which already rescheduled the crop.
+     */
+    public synchronized void schedule(Crop crop, CropSnapshot snapshot) {
+        if (crop.isRetired() || crop.getSnapshot() != snapshot) return;
+        
+        schedule(crop, snapshot, TimeUtil.getCurrentTimeMillis());
+    }
+
+    private void schedule(Crop crop, CropSnapshot snapshot, long now) {
+        long next = snapshot.getNextTransitionTime(now);
+        if (next == Long.MAX_VALUE) {
+            TimingWheel.Timer<Crop> timer = crop.getScheduleTimer();
+            if (timer != null) {
+                wheel.cancel(timer);
+            }
+            return;
+        }
+        LagGuard guard = lagGuard;
+        scheduleAt(crop, guard != null ? guard.adjust(crop, next) : next);
+    }
+
+    /**
+     * Sets the guard delaying updates of crowded chunks while the server lags, or null for none
+     */
+    public void setLagGuard(LagGuard lagGuard) {
+        this.lagGuard = lagGuard;
+    }
+
+    /**
+     * Recomputes a crop's next transition after its timing changed
+     */
+    public void reschedule(Crop crop) {
+        schedule(crop);
+    }
+
+    /**
+     * Recomputes the next transitions of many crops under a single lock, e.g. after an area effect
+     */
+    public synchronized void rescheduleAll(Collection<Crop> crops) {
+        for (Crop crop : crops) {
+            schedule(crop);
+        }
+    }
+
+    /**
+     * Removes a crop from the scheduler for good, so late reschedules
+     * (e.g. from an update worker) cannot bring it back
+     */
+    public synchronized void unschedule(Crop crop) {
+        TimingWheel.Timer<Crop> timer = crop.getScheduleTimer();
+        if (timer != null) {
+            wheel.cancel(timer);
+        }
+        crop.setScheduler(null);
+        crop.setRetired(true);
+    }
+
+    /**
+     * Schedules a crop at a fixed time, e.g. to retry work that could not be queued
+     */
+    public synchronized void scheduleAt(Crop crop, long time) {
+        if (crop.isRetired()) return;
+        
+        crop.setScheduler(this);
+        TimingWheel.Timer<Crop> timer = crop.getScheduleTimer();
+        if (timer == null) {
+            crop.setScheduleTimer(wheel.schedule(crop, time));
+        } else {
+            wheel.reschedule(timer, time);
+        }
+    }
+
+    /**
+     * Hands all crops whose next transition is due to the consumer. They are no longer
+     * scheduled afterwards and must be rescheduled once processed.
+     *
+     * @return the number of crops that became due
+     */
+    public synchronized int pollDue(long now, DueConsumer consumer) {
+        return wheel.advance(now, crop -> consumer.accept(crop, crop.getScheduleTimer().getDeadline()));
+    }
+
+    public synchronized int size() {
+        return wheel.size();
+    }
+
+    public synchronized void clear() {
+        wheel.clear();
+    }
+
+    @FunctionalInterface
+    public interface DueConsumer {
+        void accept(Crop crop, long dueTime);
+    }
+}
@@ -0,0 +1,54 @@
+package me.devupdates.herbalism.crop;
+
+/**
+ * Timing of a crop as of the last time its owning thread looked at it: ready time,
+ * decay time and when the next growth stage starts. Immutable, so the update workers
+ * can decide on transitions without touching the live crop or the plugin config.
+ */
+public final class CropSnapshot {
+
+    private final boolean finished;
+    private final long harvestTime;
+    private final long decayTime;
+    private final long nextStageTime;
+
+    CropSnapshot(boolean finished, long harvestTime, long decayTime, long nextStageTime) {
+        this.finished = finished;
+        this.harvestTime = harvestTime;
+        this.decayTime = decayTime;
+        this.nextStageTime = nextStageTime;
+    }
+
+    /**
+     * Checks whether the crop was harvested or decayed and never changes again
+     */
+    public boolean isFinished() {
+        return finished;
+    }
+
+    public long getHarvestTime() {
+        return harvestTime;
+    }
+
+    public long getDecayTime() {
+        return decayTime;
+    }
+
+    /**
+     * Gets the time the next growth stage before readiness starts, or Long.MAX_VALUE if none is left
+     */
+    public long getNextStageTime() {
+        return nextStageTime;
+    }
+
+    /**
+     * Gets the next time the crop changes state (growth stage, readiness or decay),
+     * or Long.MAX_VALUE if it never changes again
+     */
+    public long getNextTransitionTime(long now) {
+        if (finished) return Long.MAX_VALUE;
+        if (now >= harvestTime) return decayTime;
+
+        return nextStageTime > now ? Math.min(nextStageTime, harvestTime) : harvestTime;
+    }
+}
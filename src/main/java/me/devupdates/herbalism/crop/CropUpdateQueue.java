@@ -0,0 +1,232 @@
+package me.devupdates.herbalism.crop;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Bounded queue of crop mutations that the main thread works off in small, time-budgeted slices.
+ * Work is grouped by world and chunk and drained round-robin, so one busy chunk
+ * or world cannot starve the others. Draining resumes where the previous slice stopped.
+ * Mutations may be offered from any thread.
+ */
+public class CropUpdateQueue {
+
+    private final int capacity;
+    private final Map<UUID, WorldQueue> worldQueues = new HashMap<>();
+    private final ArrayDeque<WorldQueue> worldRotation = new ArrayDeque<>();
+    private int size;
+
+    // Lag metrics
+    private long processedTotal;
+    private long stalenessTotalMillis;
+    private long maxStalenessMillis;
+    private int processedLastSlice;
+    private long lastSliceNanos;
+    private long rejectedTotal;
+
+    public CropUpdateQueue(int capacity) {
+        this.capacity = capacity;
+    }
+
+    /**
+     * Queues a mutation. Crops that are already queued are not added twice.
+     *
+     * @return false if the queue is full and the mutation was rejected
+     */
+    public synchronized boolean offer(CropMutation mutation) {
+        Crop crop = mutation.getCrop();
+        if (crop.isQueued()) return true;
+        if (capacity > 0 && size >= capacity) {
+            rejectedTotal++;
+            return false;
+        }
+
+        WorldQueue worldQueue = worldQueues.get(crop.getWorldId());
+        if (worldQueue == null) {
+            worldQueue = new WorldQueue();
+            worldQueues.put(crop.getWorldId(), worldQueue);
+        }
+        if (worldQueue.isEmpty()) {
+            worldRotation.addLast(worldQueue);
+        }
+        worldQueue.add(mutation);
+
+        crop.setQueued(true);
+        size++;
+        return true;
+    }
+
+    /**
+     * Processes queued mutations until the queue is empty or the budget is used up.
+     * Must be called from the main thread; the action runs outside the queue lock.
+     *
+     * @param budgetNanos time budget for this slice, or zero or less for no limit
+     * @return the number of mutations processed
+     */
+    public int process(long budgetNanos, long now, Consumer<CropMutation> action) {
+        long start = System.nanoTime();
+        int processed = 0;
+
+        while (budgetNanos <= 0 || processed == 0 || System.nanoTime() - start < budgetNanos) {
+            CropMutation mutation = poll(now);
+            if (mutation == null) {
+                break;
+            }
+
+            action.accept(mutation);
+            processed++;
+        }
+
+        synchronized (this) {
+            processedLastSlice = processed;
+            lastSliceNanos = System.nanoTime() - start;
+        }
+        return processed;
+    }
+
+    private synchronized CropMutation poll(long now) {
+        WorldQueue worldQueue = worldRotation.pollFirst();
+        if (worldQueue == null) {
+            return null;
+        }
+
+        CropMutation mutation = worldQueue.poll();
+        if (!worldQueue.isEmpty()) {
+            worldRotation.addLast(worldQueue);
+        }
+
+        size--;
+        mutation.getCrop().setQueued(false);
+        recordStaleness(now - mutation.getDueTime());
+        return mutation;
+    }
+
+    /**
+     * Gets the number of crops waiting to be processed
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    public synchronized boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Gets how far the oldest pending update is behind its due time, in milliseconds
+     */
+    public synchronized long getOldestPendingAge(long now) {
+        long oldest = Long.MAX_VALUE;
+        for (WorldQueue worldQueue : worldRotation) {
+            oldest = Math.min(oldest, worldQueue.getOldestDueTime());
+        }
+        return oldest == Long.MAX_VALUE ? 0 : Math.max(0, now - oldest);
+    }
+
+    /**
+     * Gets the average delay between a crop's transition becoming due and it being processed
+     */
+    public synchronized double getAverageStalenessMillis() {
+        return processedTotal > 0 ? (double) stalenessTotalMillis / processedTotal : 0.0;
+    }
+
+    public synchronized long getMaxStalenessMillis() {
+        return maxStalenessMillis;
+    }
+
+    public synchronized long getProcessedTotal() {
+        return processedTotal;
+    }
+
+    public synchronized long getRejectedTotal() {
+        return rejectedTotal;
+    }
+
+    public synchronized int getProcessedLastSlice() {
+        return processedLastSlice;
+    }
+
+    public synchronized long getLastSliceMicros() {
+        return lastSliceNanos / 1000;
+    }
+
+    public synchronized void clear() {
+        for (WorldQueue worldQueue : worldQueues.values()) {
+            worldQueue.clear();
+        }
+        worldQueues.clear();
+        worldRotation.clear();
+        size = 0;
+    }
+
+    private void recordStaleness(long stalenessMillis) {
+        long staleness = Math.max(0, stalenessMillis);
+        processedTotal++;
+        stalenessTotalMillis += staleness;
+        maxStalenessMillis = Math.max(maxStalenessMillis, staleness);
+    }
+
+    /**
+     * Pending updates of one world, rotated chunk by chunk
+     */
+    private static final class WorldQueue {
+        private final Map<Long, ArrayDeque<CropMutation>> chunkQueues = new HashMap<>();
+        private final ArrayDeque<ArrayDeque<CropMutation>> chunkRotation = new ArrayDeque<>();
+
+        private void add(CropMutation mutation) {
+            Crop crop = mutation.getCrop();
+            long key = CropIndex.chunkKey(crop.getChunkX(), crop.getChunkZ());
+            ArrayDeque<CropMutation> chunkQueue = chunkQueues.get(key);
+            if (chunkQueue == null) {
+                chunkQueue = new ArrayDeque<>();
+                chunkQueues.put(key, chunkQueue);
+                chunkRotation.addLast(chunkQueue);
+            }
+            chunkQueue.addLast(mutation);
+        }
+
+        private CropMutation poll() {
+            ArrayDeque<CropMutation> chunkQueue = chunkRotation.pollFirst();
+            CropMutation mutation = chunkQueue.pollFirst();
+            if (chunkQueue.isEmpty()) {
+                Crop crop = mutation.getCrop();
+                chunkQueues.remove(CropIndex.chunkKey(crop.getChunkX(), crop.getChunkZ()));
+            } else {
+                chunkRotation.addLast(chunkQueue);
+            }
+            return mutation;
+        }
+
+        private long getOldestDueTime() {
+            long oldest = Long.MAX_VALUE;
+            for (ArrayDeque<CropMutation> chunkQueue : chunkRotation) {
+                CropMutation head = chunkQueue.peekFirst();
+                if (head != null) {
+                    oldest = Math.min(oldest, head.getDueTime());
+                }
+            }
+            return oldest;
+        }
+
+        private boolean isEmpty() {
+            return chunkRotation.isEmpty();
+        }
+
+        private void clear() {
+            for (ArrayDeque<CropMutation> chunkQueue : chunkRotation) {
+                for (CropMutation mutation : chunkQueue) {
+                    mutation.getCrop().setQueued(false);
+                }
+            }
+            chunkQueues.clear();
+            chunkRotation.clear();
+        }
+    }
+}
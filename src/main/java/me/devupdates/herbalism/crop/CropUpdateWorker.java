@@ -0,0 +1,146 @@
+package me.devupdates.herbalism.crop;
+
+import me.devupdates.herbalism.util.MessageUtil;
+import me.devupdates.herbalism.util.TimeUtil;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Computes crop transitions on a worker pool. Due crops are taken from the scheduler,
+ * split into one shard per world, and evaluated in parallel; only the resulting
+ * mutations are handed to the main thread through the update queue.
+ * Workers only read the immutable snapshot each crop published when it was last
+ * scheduled, never the live crop.
+ */
+public class CropUpdateWorker {
+
+    // Delay before retrying a crop whose mutation did not fit into the full queue
+    private static final long RETRY_DELAY_MILLIS = 1000L;
+
+    private final CropScheduler scheduler;
+    private final CropUpdateQueue queue;
+    private final ExecutorService executor;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicInteger pendingShards = new AtomicInteger();
+
+    public CropUpdateWorker(CropScheduler scheduler, CropUpdateQueue queue, int threads) {
+        this.scheduler = scheduler;
+        this.queue = queue;
+
+        AtomicInteger threadId = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(Math.max(1, threads), runnable -> {
+            Thread thread = new Thread(runnable, "Herbalism-CropWorker-" + threadId.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Collects all due crops and computes their transitions on the worker pool.
+     * Skipped while the previous run is still in progress.
+     */
+    public void update() {
+        if (!running.compareAndSet(false, true)) {
+            return;
+        }
+
+        long now = TimeUtil.getCurrentTimeMillis();
+        Map<UUID, List<DueCrop>> shards = new HashMap<>();
+        scheduler.pollDue(now, (crop, dueTime) -> {
+            CropSnapshot snapshot = crop.getSnapshot();
+            if (snapshot != null) {
+                shards.computeIfAbsent(crop.getWorldId(), k -> new ArrayList<>()).add(new DueCrop(crop, snapshot, dueTime));
+            }
+        });
+
+        if (shards.isEmpty()) {
+            running.set(false);
+            return;
+        }
+
+        pendingShards.set(shards.size());
+        for (List<DueCrop> shard : shards.values()) {
+            executor.execute(() -> {
+                try {
+                    for (DueCrop due : shard) {
+                        compute(due.crop, due.snapshot, due.dueTime, now);
+                    }
+                } catch (Exception e) {
+                    MessageUtil.error("Error computing crop updates: " + e.getMessage());
+                } finally {
+                    if (pendingShards.decrementAndGet() == 0) {
+                        running.set(false);
+                    }
+                }
+            });
+        }
+    }
+
+    private void compute(Crop crop, CropSnapshot snapshot, long dueTime, long now) {
+        if (snapshot.isFinished()) {
+            return;
+        }
+
+        CropMutation.Type type;
+        if (now >= snapshot.getDecayTime()) {
+            type = CropMutation.Type.DECAY;
+        } else if (now >= snapshot.getHarvestTime()) {
+            type = CropMutation.Type.READY;
+        } else if (now >= snapshot.getNextStageTime()) {
+            type = CropMutation.Type.GROW;
+        } else {
+            // Nothing visible changed yet, just wait for the next transition
+            scheduler.schedule(crop, snapshot);
+            return;
+        }
+
+        if (!queue.offer(new CropMutation(crop, type, dueTime))) {
+            scheduler.scheduleAt(crop, now + RETRY_DELAY_MILLIS);
+            return;
+        }
+
+        // Decayed crops are removed on the main thread and never come back. Applying the
+        // mutation reschedules the crop from a fresh snapshot; this only keeps it scheduled
+        // until then and is ignored if that already happened.
+        if (type != CropMutation.Type.DECAY) {
+            scheduler.schedule(crop, snapshot);
+        }
+    }
+
+    public boolean isRunning() {
+        return running.get();
+    }
+
+    public void shutdown() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(5, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static final class DueCrop {
+        private final Crop crop;
+        private final CropSnapshot snapshot;
+        private final long dueTime;
+
+        private DueCrop(Crop crop, CropSnapshot snapshot, long dueTime) {
+            this.crop = crop;
+            this.snapshot = snapshot;
+            this.dueTime = dueTime;
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package me.devupdates.herbalism.crop;
+
+import me.devupdates.herbalism.manager.CropManager;
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Drops of a crop type compiled into parallel arrays, so rolling them only needs
+ * random numbers and array reads. Chances are stored as fractions.
+ */
+public final class DropTable {
+
+    private static final Material[] MATERIALS = Material.values();
+
+    private final int[] materials;
+    private final int[] amounts;
+    private final double[] chances;
+    private final int[] bonusAmounts;
+    private final double[] bonusChances;
+
+    private DropTable(int[] materials, int[] amounts, double[] chances, int[] bonusAmounts, double[] bonusChances) {
+        this.materials = materials;
+        this.amounts = amounts;
+        this.chances = chances;
+        this.bonusAmounts = bonusAmounts;
+        this.bonusChances = bonusChances;
+    }
+
+    /**
+     * Compiles the configured drops of a crop type. Chances are configured in percent.
+     */
+    public static DropTable compile(List<CropManager.DropItem> drops) {
+        int size = drops.size();
+        int[] materials = new int[size];
+        int[] amounts = new int[size];
+        double[] chances = new double[size];
+        int[] bonusAmounts = new int[size];
+        double[] bonusChances = new double[size];
+
+        for (int i = 0; i < size; i++) {
+            CropManager.DropItem drop = drops.get(i);
+            materials[i] = drop.getMaterial().ordinal();
+            amounts[i] = drop.getAmount();
+            chances[i] = drop.getChance() / 100.0;
+            bonusAmounts[i] = drop.getBonusAmount();
+            bonusChances[i] = drop.getBonusChance() / 100.0;
+        }
+        return new DropTable(materials, amounts, chances, bonusAmounts, bonusChances);
+    }
+
+    /**
+     * Folds a player's ability modifiers into this table
+     *
+     * @param yieldMultiplier multiplier for the base amount, 1.0 or less for none
+     * @param luckChance chance (0-1) for an extra base amount of every drop
+     */
+    public Modified modify(double yieldMultiplier, double luckChance) {
+        int[] baseAmounts = amounts;
+        if (yieldMultiplier > 1.0) {
+            baseAmounts = new int[amounts.length];
+            for (int i = 0; i < amounts.length; i++) {
+                baseAmounts[i] = (int) (amounts[i] * yieldMultiplier);
+            }
+        }
+        return new Modified(baseAmounts, Math.max(0.0, luckChance));
+    }
+
+    public int size() {
+        return materials.length;
+    }
+
+    /**
+     * A drop table with a player's modifiers applied
+     */
+    public final class Modified {
+        private final int[] baseAmounts;
+        private final double luckChance;
+
+        private Modified(int[] baseAmounts, double luckChance) {
+            this.baseAmounts = baseAmounts;
+            this.luckChance = luckChance;
+        }
+
+        /**
+         * Rolls every drop once and adds the results to the counter
+         */
+        public void roll(Counter counter) {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            for (int i = 0; i < materials.length; i++) {
+                int amount = 0;
+                if (random.nextDouble() < chances[i]) {
+                    amount += baseAmounts[i];
+                }
+                if (bonusAmounts[i] > 0 && random.nextDouble() < bonusChances[i]) {
+                    amount += bonusAmounts[i];
+                }
+                if (luckChance > 0 && random.nextDouble() < luckChance) {
+                    amount += amounts[i];
+                }
+                if (amount > 0) {
+                    counter.add(materials[i], amount);
+                }
+            }
+        }
+    }
+
+    /**
+     * Adds up rolled drops per material and turns them into as few stacks as possible
+     */
+    public static final class Counter {
+        // A harvest only yields a handful of materials, so a linear search beats a map
+        private int[] materials = new int[4];
+        private int[] counts = new int[4];
+        private int size;
+
+        private void add(int material, int amount) {
+            for (int i = 0; i < size; i++) {
+                if (materials[i] == material) {
+                    counts[i] += amount;
+                    return;
+                }
+            }
+            if (size == materials.length) {
+                materials = Arrays.copyOf(materials, size * 2);
+                counts = Arrays.copyOf(counts, size * 2);
+            }
+            materials[size] = material;
+            counts[size] = amount;
+            size++;
+        }
+
+        /**
+         * Adds all drops counted by another counter
+         */
+        public void addAll(Counter other) {
+            for (int i = 0; i < other.size; i++) {
+                add(other.materials[i], other.counts[i]);
+            }
+        }
+
+        public boolean isEmpty() {
+            return size == 0;
+        }
+
+        public List<ItemStack> toItemStacks() {
+            List<ItemStack> stacks = new ArrayList<>();
+            for (int i = 0; i < size; i++) {
+                Material material = MATERIALS[materials[i]];
+                int remaining = counts[i];
+                int maxStackSize = Math.max(1, material.getMaxStackSize());
+                while (remaining > 0) {
+                    int amount = Math.min(remaining, maxStackSize);
+                    stacks.add(new ItemStack(material, amount));
+                    remaining -= amount;
+                }
+            }
+            return stacks;
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package me.devupdates.herbalism.crop;
+
+/**
+ * Piecewise-linear growth of a crop from now on. Growth is measured in milliseconds
+ * at the normal rate, so a crop needs its original duration of growth to be ready.
+ * The timeline holds the growth reached at its start, the current rate and optionally
+ * the time that rate ends, after which the crop grows at the normal rate again.
+ * Progress at a time and the ready time are O(1); a rate change starts a new timeline
+ * at the current progress. Immutable, so crops can swap it without locking.
+ */
+public final class GrowthTimeline {
+
+    public static final double NORMAL_RATE = 1.0;
+    private static final double MIN_RATE = 0.01;
+
+    private final long total;
+    private final long start;
+    private final double base;
+    private final double rate;
+    private final long rateEnd;
+    private final long readyTime;
+
+    private GrowthTimeline(long total, long start, double base, double rate, long rateEnd) {
+        this.total = Math.max(0L, total);
+        this.start = start;
+        this.base = Math.max(0.0, base);
+        this.rate = Math.max(MIN_RATE, rate);
+        this.rateEnd = Math.max(start, rateEnd);
+        this.readyTime = computeTimeAt(this.total);
+    }
+
+    /**
+     * Creates the timeline of a crop that is ready at the given time, growing evenly until then.
+     * A freshly planted crop is ready after its duration and so grows at the normal rate.
+     */
+    public static GrowthTimeline restored(long plantTime, long duration, long readyTime) {
+        long span = readyTime - plantTime;
+        if (span <= 0 || duration <= 0) {
+            // Already credited with its full growth
+            return new GrowthTimeline(duration, readyTime, duration, NORMAL_RATE, Long.MAX_VALUE);
+        }
+        return new GrowthTimeline(duration, plantTime, 0.0, (double) duration / span, Long.MAX_VALUE);
+    }
+
+    /**
+     * Recreates a stored timeline from its parts, see {@link #getStart()}, {@link #getBase()},
+     * {@link #getRate()} and {@link #getRateEnd()}
+     */
+    public static GrowthTimeline of(long total, long start, double base, double rate, long rateEnd) {
+        return new GrowthTimeline(total, start, base, rate, rateEnd);
+    }
+
+    /**
+     * Gets the growth reached at the given time, between 0 and the total
+     */
+    public double getProgressAt(long time) {
+        if (time <= start) return Math.min(base, total);
+
+        double progress;
+        if (time <= rateEnd) {
+            progress = base + (time - start) * rate;
+        } else {
+            progress = base + (rateEnd - start) * rate + (time - rateEnd) * NORMAL_RATE;
+        }
+        return Math.min(progress, total);
+    }
+
+    /**
+     * Gets the first time the given growth is reached
+     */
+    public long getTimeAt(double progress) {
+        return progress >= total ? readyTime : computeTimeAt(progress);
+    }
+
+    /**
+     * Gets the time the crop is fully grown
+     */
+    public long getReadyTime() {
+        return readyTime;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    /**
+     * Gets the time the timeline starts at
+     */
+    public long getStart() {
+        return start;
+    }
+
+    /**
+     * Gets the growth reached at the start
+     */
+    public double getBase() {
+        return base;
+    }
+
+    public double getRate() {
+        return rate;
+    }
+
+    /**
+     * Gets the time the current rate ends, or Long.MAX_VALUE if it lasts
+     */
+    public long getRateEnd() {
+        return rateEnd;
+    }
+
+    /**
+     * Checks whether this is the even timeline {@link #restored} builds from the plant and
+     * ready time alone, so storing those is enough to get it back
+     */
+    public boolean isEvenFrom(long plantTime) {
+        return start == plantTime && base == 0.0 && rateEnd == Long.MAX_VALUE;
+    }
+
+    /**
+     * Changes the rate from the given time on, until the end time (Long.MAX_VALUE for good)
+     */
+    public GrowthTimeline withRate(long now, double newRate, long until) {
+        return new GrowthTimeline(total, now, getProgressAt(now), newRate, until);
+    }
+
+    /**
+     * Grows evenly from the given time on so that the crop is ready at the given ready time
+     */
+    public GrowthTimeline reachingAt(long now, long newReadyTime) {
+        double progress = getProgressAt(now);
+        long span = newReadyTime - now;
+        if (span <= 0) {
+            return new GrowthTimeline(total, now, total, NORMAL_RATE, Long.MAX_VALUE);
+        }
+        return new GrowthTimeline(total, now, progress, Math.max(total - progress, 1.0) / span, Long.MAX_VALUE);
+    }
+
+    /**
+     * Credits growth at the given time, keeping the current rate and its end
+     */
+    public GrowthTimeline advancedBy(long now, long growth) {
+        return new GrowthTimeline(total, now, getProgressAt(now) + growth, now < rateEnd ? rate : NORMAL_RATE, rateEnd);
+    }
+
+    private long computeTimeAt(double progress) {
+        double needed = progress - base;
+        if (needed <= 0) return start;
+
+        if (rateEnd != Long.MAX_VALUE) {
+            double reachable = (rateEnd - start) * rate;
+            if (needed > reachable) {
+                return rateEnd + (long) Math.ceil((needed - reachable) / NORMAL_RATE);
+            }
+        }
+        double millis = Math.ceil(needed / rate);
+        return millis >= Long.MAX_VALUE - start ? Long.MAX_VALUE : start + (long) millis;
+    }
+}
@@ -0,0 +1,103 @@
+package me.devupdates.herbalism.crop;
+
+import me.devupdates.herbalism.util.MessageUtil;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Slows down updates of crowded chunks while the server lags. Once the average tick
+ * time passes the threshold, the transitions of crops in chunks holding at least the
+ * dense threshold are rounded up to the slow interval, so these chunks are updated
+ * in fewer, larger batches until the server recovers.
+ */
+public class LagGuard {
+
+    // Recover only well below the threshold, so the guard does not flap
+    private static final double RECOVERY_FACTOR = 0.8;
+    private static final long REPORT_INTERVAL_MILLIS = 5 * 60 * 1000L;
+    private static final int REPORTED_CHUNKS = 5;
+
+    private final CropIndex index;
+    private final double msptThreshold;
+    private final int denseThreshold;
+    private final long slowIntervalMillis;
+
+    private volatile boolean active;
+    private volatile double lastMspt;
+    private long lastReport;
+
+    public LagGuard(CropIndex index, double msptThreshold, int denseThreshold, long slowIntervalMillis) {
+        this.index = index;
+        this.msptThreshold = msptThreshold;
+        this.denseThreshold = Math.max(1, denseThreshold);
+        this.slowIntervalMillis = Math.max(1L, slowIntervalMillis);
+    }
+
+    /**
+     * Gets the time a crop should be updated at, given its next transition
+     */
+    public long adjust(Crop crop, long next) {
+        if (!active) return next;
+
+        CropChunk chunk = index.getChunk(crop.getWorldId(), crop.getChunkX(), crop.getChunkZ());
+        if (chunk == null || chunk.size() < denseThreshold) return next;
+
+        // Rounding up makes the crops of a chunk come due together
+        return (next + slowIntervalMillis - 1) / slowIntervalMillis * slowIntervalMillis;
+    }
+
+    /**
+     * Feeds the current average tick time. Called periodically from a single thread.
+     */
+    public void update(double mspt, long now) {
+        lastMspt = mspt;
+
+        if (!active && mspt >= msptThreshold) {
+            active = true;
+            if (now - lastReport >= REPORT_INTERVAL_MILLIS) {
+                lastReport = now;
+                report(mspt);
+            }
+        } else if (active && mspt < msptThreshold * RECOVERY_FACTOR) {
+            active = false;
+            MessageUtil.info(String.format("Server tick time back at %.1f ms, crowded crop chunks update normally again", mspt));
+        }
+    }
+
+    /**
+     * Gets the chunks holding at least the dense threshold, most crowded first
+     */
+    public List<CropChunk> getDenseChunks(int limit) {
+        List<CropChunk> dense = new ArrayList<>();
+        for (UUID worldId : index.getWorldIds()) {
+            for (CropChunk chunk : index.getChunks(worldId)) {
+                if (chunk.size() >= denseThreshold) {
+                    dense.add(chunk);
+                }
+            }
+        }
+        dense.sort(Comparator.comparingInt(CropChunk::size).reversed());
+        return dense.size() > limit ? new ArrayList<>(dense.subList(0, limit)) : dense;
+    }
+
+    public boolean isActive() {
+        return active;
+    }
+
+    public double getLastMspt() {
+        return lastMspt;
+    }
+
+    private void report(double mspt) {
+        List<CropChunk> dense = getDenseChunks(REPORTED_CHUNKS);
+        MessageUtil.warn(String.format("Server tick time at %.1f ms, slowing updates of crop chunks with %d+ crops",
+                mspt, denseThreshold));
+        for (CropChunk chunk : dense) {
+            MessageUtil.warn("- chunk " + chunk.getChunkX() + "," + chunk.getChunkZ() + " in world "
+                    + chunk.getWorldId() + ": " + chunk.size() + " crops");
+        }
+    }
+}
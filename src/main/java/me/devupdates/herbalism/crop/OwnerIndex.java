@@ -0,0 +1,177 @@
+package me.devupdates.herbalism.crop;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Crops per owner. Keeps a count of all crops an owner has, including those in
+ * unloaded chunks, and the loaded crops ordered by harvest time so ready crops
+ * can be found without scanning. Thread-safe.
+ */
+public class OwnerIndex {
+
+    private final Map<UUID, OwnerCrops> owners = new ConcurrentHashMap<>();
+
+    /**
+     * Adds a newly planted crop, counting it towards its owner's total
+     */
+    public void add(Crop crop) {
+        OwnerCrops ownerCrops = get(crop.getOwnerId());
+        ownerCrops.count.incrementAndGet();
+        ownerCrops.track(crop, this);
+    }
+
+    /**
+     * Removes a harvested or destroyed crop from its owner's total
+     */
+    public void remove(Crop crop) {
+        OwnerCrops ownerCrops = get(crop.getOwnerId());
+        ownerCrops.untrack(crop);
+        ownerCrops.count.updateAndGet(count -> Math.max(0, count - 1));
+    }
+
+    /**
+     * Tracks a crop whose chunk loaded. The owner's total does not change.
+     */
+    public void load(Crop crop) {
+        get(crop.getOwnerId()).track(crop, this);
+    }
+
+    /**
+     * Stops tracking a crop whose chunk unloaded. The owner's total does not change.
+     */
+    public void unload(Crop crop) {
+        OwnerCrops ownerCrops = owners.get(crop.getOwnerId());
+        if (ownerCrops != null) {
+            ownerCrops.untrack(crop);
+        }
+    }
+
+    /**
+     * Re-sorts a crop after its harvest time changed
+     */
+    void reindex(Crop crop) {
+        OwnerCrops ownerCrops = owners.get(crop.getOwnerId());
+        if (ownerCrops != null && ownerCrops.untrack(crop)) {
+            ownerCrops.track(crop, this);
+        }
+    }
+
+    /**
+     * Replaces the crop counts with stored ones, e.g. from the database at startup.
+     * Owners missing from the map keep their count.
+     */
+    public void setCounts(Map<UUID, Integer> counts) {
+        for (Map.Entry<UUID, Integer> entry : counts.entrySet()) {
+            get(entry.getKey()).count.set(entry.getValue());
+        }
+    }
+
+    /**
+     * Gets the number of crops an owner has, loaded or not
+     */
+    public int getCount(UUID ownerId) {
+        OwnerCrops ownerCrops = owners.get(ownerId);
+        return ownerCrops != null ? ownerCrops.count.get() : 0;
+    }
+
+    /**
+     * Gets the loaded crops of an owner, ordered by harvest time
+     */
+    public Collection<Crop> getLoadedCrops(UUID ownerId) {
+        OwnerCrops ownerCrops = owners.get(ownerId);
+        return ownerCrops != null
+                ? Collections.unmodifiableCollection(ownerCrops.byHarvestTime.values())
+                : Collections.emptyList();
+    }
+
+    public int getLoadedCount(UUID ownerId) {
+        OwnerCrops ownerCrops = owners.get(ownerId);
+        return ownerCrops != null ? ownerCrops.loaded.get() : 0;
+    }
+
+    /**
+     * Gets the loaded crops of an owner whose harvest time has passed, ordered by harvest time.
+     * Harvested or decayed crops are removed from the index and never returned.
+     */
+    public Collection<Crop> getReadyCrops(UUID ownerId, long now) {
+        OwnerCrops ownerCrops = owners.get(ownerId);
+        if (ownerCrops == null) return Collections.emptyList();
+
+        ConcurrentNavigableMap<HarvestKey, Crop> ready =
+                ownerCrops.byHarvestTime.headMap(new HarvestKey(now, Long.MAX_VALUE), true);
+        return Collections.unmodifiableCollection(ready.values());
+    }
+
+    public void clear() {
+        owners.clear();
+    }
+
+    private OwnerCrops get(UUID ownerId) {
+        return owners.computeIfAbsent(ownerId, k -> new OwnerCrops());
+    }
+
+    private static final class OwnerCrops {
+        private final AtomicInteger count = new AtomicInteger();
+        private final AtomicInteger loaded = new AtomicInteger();
+        private final ConcurrentSkipListMap<HarvestKey, Crop> byHarvestTime = new ConcurrentSkipListMap<>();
+
+        private synchronized void track(Crop crop, OwnerIndex index) {
+            HarvestKey key = new HarvestKey(crop.getHarvestTime(), crop.getId());
+            if (byHarvestTime.put(key, crop) == null) {
+                loaded.incrementAndGet();
+            }
+            crop.setOwnerKey(key);
+            crop.setOwnerIndex(index);
+        }
+
+        private synchronized boolean untrack(Crop crop) {
+            HarvestKey key = crop.getOwnerKey();
+            crop.setOwnerIndex(null);
+            crop.setOwnerKey(null);
+            if (key != null && byHarvestTime.remove(key, crop)) {
+                loaded.decrementAndGet();
+                return true;
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Sort key of a crop: its harvest time at the time it was indexed, then its id
+     */
+    static final class HarvestKey implements Comparable<HarvestKey> {
+        private final long harvestTime;
+        private final long cropId;
+
+        private HarvestKey(long harvestTime, long cropId) {
+            this.harvestTime = harvestTime;
+            this.cropId = cropId;
+        }
+
+        @Override
+        public int compareTo(HarvestKey other) {
+            int result = Long.compare(harvestTime, other.harvestTime);
+            return result != 0 ? result : Long.compare(cropId, other.cropId);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) return true;
+            if (!(obj instanceof HarvestKey)) return false;
+            HarvestKey other = (HarvestKey) obj;
+            return harvestTime == other.harvestTime && cropId == other.cropId;
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(harvestTime) * 31 + Long.hashCode(cropId);
+        }
+    }
+}
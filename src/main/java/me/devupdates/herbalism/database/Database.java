@@ -5,7 +5,9 @@ import me.devupdates.herbalism.crop.Crop;
 
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 
@@ -79,7 +81,7 @@ public interface Database {
     /**
      * Loads a crop from the database
      */
-    CompletableFuture<Crop> loadCrop(UUID cropId);
+    CompletableFuture<Crop> loadCrop(long cropId);
     
     /**
      * Loads all crops for a player
@@ -91,10 +93,35 @@ public interface Database {
      */
     CompletableFuture<List<Crop>> loadAllCrops();
     
+    /**
+     * Loads all unharvested crops inside a chunk
+     */
+    CompletableFuture<List<Crop>> loadCropsInChunk(String world, int chunkX, int chunkZ);
+    
+    /**
+     * Saves several crops in a single transaction
+     */
+    CompletableFuture<Boolean> saveCrops(Collection<Crop> crops);
+    
+    /**
+     * Gets the highest stored crop id, or 0 if there are no crops
+     */
+    CompletableFuture<Long> getMaxCropId();
+    
+    /**
+     * Counts the unharvested crops of every player
+     */
+    CompletableFuture<Map<UUID, Integer>> countCropsByOwner();
+    
+    /**
+     * Saves and deletes several crops in a single transaction
+     */
+    CompletableFuture<Boolean> applyCropChanges(Collection<Crop> saves, Collection<Long> deletes);
+    
     /**
      * Deletes a crop from the database
      */
-    CompletableFuture<Boolean> deleteCrop(UUID cropId);
+    CompletableFuture<Boolean> deleteCrop(long cropId);
     
     /**
      * Deletes all crops for a player
@@ -104,7 +131,7 @@ public interface Database {
     /**
      * Updates crop status
      */
-    CompletableFuture<Boolean> updateCropStatus(UUID cropId, boolean harvested, boolean decayed);
+    CompletableFuture<Boolean> updateCropStatus(long cropId, boolean harvested, boolean decayed);
     
     // Utility methods
     
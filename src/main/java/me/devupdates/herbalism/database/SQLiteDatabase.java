@@ -2,8 +2,10 @@ package me.devupdates.herbalism.database;
 
 import me.devupdates.herbalism.core.HerbalismPlugin;
 import me.devupdates.herbalism.crop.Crop;
+import me.devupdates.herbalism.crop.GrowthTimeline;
 import me.devupdates.herbalism.player.HerbalismPlayer;
 import me.devupdates.herbalism.util.MessageUtil;
+import org.bukkit.World;
 import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
 
@@ -13,6 +15,9 @@ import java.sql.*;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 public class SQLiteDatabase implements Database {
     
@@ -20,6 +25,13 @@ public class SQLiteDatabase implements Database {
     private final File databaseFile;
     private HikariDataSource dataSource;
     private boolean connected = false;
+    // Crop reads and writes run one at a time in submission order, so a chunk that
+    // reloads right after unloading never reads rows older than its last save or delete
+    private final ExecutorService cropExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "Herbalism-CropDatabase");
+        thread.setDaemon(true);
+        return thread;
+    });
     
     public SQLiteDatabase(HerbalismPlugin plugin) {
         this.plugin = plugin;
@@ -68,6 +80,16 @@ public class SQLiteDatabase implements Database {
     @Override
     public CompletableFuture<Void> disconnect() {
         return CompletableFuture.runAsync(() -> {
+            // Let queued crop writes finish before the pool closes
+            cropExecutor.shutdown();
+            try {
+                if (!cropExecutor.awaitTermination(10, TimeUnit.SECONDS)) {
+                    MessageUtil.warn("Timed out waiting for pending crop writes");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            
             if (dataSource != null && !dataSource.isClosed()) {
                 dataSource.close();
                 connected = false;
@@ -117,7 +139,7 @@ public class SQLiteDatabase implements Database {
                 // Create crops table
                 String cropsTable = """
                     CREATE TABLE IF NOT EXISTS herbalism_crops (
-                        id TEXT PRIMARY KEY,
+                        id INTEGER PRIMARY KEY,
                         crop_type TEXT NOT NULL,
                         owner_id TEXT NOT NULL,
                         owner_name TEXT NOT NULL,
@@ -132,6 +154,12 @@ public class SQLiteDatabase implements Database {
                         decayed BOOLEAN NOT NULL DEFAULT FALSE,
                         fertilized_by TEXT,
                         growth_modifier REAL NOT NULL DEFAULT 1.0,
+                        fertilizer TEXT,
+                        fertilizer_time BIGINT NOT NULL DEFAULT 0,
+                        growth_start BIGINT,
+                        growth_base REAL,
+                        growth_rate REAL,
+                        growth_rate_end BIGINT,
                         created_at DATETIME DEFAULT CURRENT_TIMESTAMP,
                         updated_at DATETIME DEFAULT CURRENT_TIMESTAMP,
                         FOREIGN KEY (owner_id) REFERENCES herbalism_players(uuid)
@@ -145,12 +173,16 @@ public class SQLiteDatabase implements Database {
                     "CREATE INDEX IF NOT EXISTS idx_crops_owner ON herbalism_crops(owner_id)",
                     "CREATE INDEX IF NOT EXISTS idx_crops_type ON herbalism_crops(crop_type)",
                     "CREATE INDEX IF NOT EXISTS idx_crops_harvested ON herbalism_crops(harvested)",
-                    "CREATE INDEX IF NOT EXISTS idx_crops_location ON herbalism_crops(world, x, y, z)"
+                    "CREATE INDEX IF NOT EXISTS idx_crops_location ON herbalism_crops(world, x, y, z)",
+                    "CREATE INDEX IF NOT EXISTS idx_crops_chunk ON herbalism_crops(world, x, z)"
                 };
                 
                 try (Statement stmt = conn.createStatement()) {
                     stmt.execute(playersTable);
                     stmt.execute(cropsTable);
+                    migrateCropIds(conn, cropsTable);
+                    addFertilizerColumns(conn);
+                    addGrowthColumns(conn);
                     
                     for (String index : indexes) {
                         stmt.execute(index);
@@ -167,6 +199,94 @@ public class SQLiteDatabase implements Database {
         });
     }
     
+    /**
+     * Crop ids used to be UUID strings. Rebuilds such a table with integer ids, numbering
+     * the existing crops in insertion order; newly generated ids are far above those.
+     */
+    private void migrateCropIds(Connection conn, String cropsTable) throws SQLException {
+        String idType = null;
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("PRAGMA table_info(herbalism_crops)")) {
+            while (rs.next()) {
+                if ("id".equalsIgnoreCase(rs.getString("name"))) {
+                    idType = rs.getString("type");
+                }
+            }
+        }
+        if (idType == null || idType.equalsIgnoreCase("INTEGER")) return;
+        
+        String columns = """
+            crop_type, owner_id, owner_name, world, x, y, z, plant_time, original_duration, 
+            harvest_time, harvested, decayed, fertilized_by, growth_modifier, created_at, updated_at
+            """;
+        
+        MessageUtil.info("Migrating crop ids to integers...");
+        boolean autoCommit = conn.getAutoCommit();
+        conn.setAutoCommit(false);
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("ALTER TABLE herbalism_crops RENAME TO herbalism_crops_legacy");
+            stmt.execute(cropsTable);
+            int migrated = stmt.executeUpdate("INSERT INTO herbalism_crops (" + columns + ") SELECT " + columns
+                    + " FROM herbalism_crops_legacy ORDER BY rowid");
+            // Drops the old indexes as well, they are recreated afterwards
+            stmt.execute("DROP TABLE herbalism_crops_legacy");
+            conn.commit();
+            MessageUtil.info("Migrated " + migrated + " crops to integer ids");
+        } catch (SQLException e) {
+            conn.rollback();
+            throw e;
+        } finally {
+            conn.setAutoCommit(autoCommit);
+        }
+    }
+    
+    /**
+     * Adds the columns holding a crop's active fertilizer effect to tables created before they existed
+     */
+    private void addFertilizerColumns(Connection conn) throws SQLException {
+        boolean hasFertilizer = false;
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("PRAGMA table_info(herbalism_crops)")) {
+            while (rs.next()) {
+                if ("fertilizer".equalsIgnoreCase(rs.getString("name"))) {
+                    hasFertilizer = true;
+                }
+            }
+        }
+        if (hasFertilizer) return;
+        
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("ALTER TABLE herbalism_crops ADD COLUMN fertilizer TEXT");
+            stmt.execute("ALTER TABLE herbalism_crops ADD COLUMN fertilizer_time BIGINT NOT NULL DEFAULT 0");
+        }
+        MessageUtil.info("Added fertilizer columns to the crops table");
+    }
+    
+    /**
+     * Adds the columns holding a crop's growth timeline to tables created before they existed.
+     * Rows saved before are left empty and restored with an even timeline.
+     */
+    private void addGrowthColumns(Connection conn) throws SQLException {
+        boolean hasGrowthStart = false;
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("PRAGMA table_info(herbalism_crops)")) {
+            while (rs.next()) {
+                if ("growth_start".equalsIgnoreCase(rs.getString("name"))) {
+                    hasGrowthStart = true;
+                }
+            }
+        }
+        if (hasGrowthStart) return;
+        
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("ALTER TABLE herbalism_crops ADD COLUMN growth_start BIGINT");
+            stmt.execute("ALTER TABLE herbalism_crops ADD COLUMN growth_base REAL");
+            stmt.execute("ALTER TABLE herbalism_crops ADD COLUMN growth_rate REAL");
+            stmt.execute("ALTER TABLE herbalism_crops ADD COLUMN growth_rate_end BIGINT");
+        }
+        MessageUtil.info("Added growth timeline columns to the crops table");
+    }
+    
     @Override
     public CompletableFuture<Boolean> savePlayer(HerbalismPlayer player) {
         return CompletableFuture.supplyAsync(() -> {
@@ -351,36 +471,21 @@ public class SQLiteDatabase implements Database {
         });
     }
     
+    private static final String SAVE_CROP_SQL = """
+        INSERT OR REPLACE INTO herbalism_crops 
+        (id, crop_type, owner_id, owner_name, world, x, y, z, plant_time, original_duration, 
+         harvest_time, harvested, decayed, fertilized_by, growth_modifier, fertilizer, fertilizer_time, 
+         growth_start, growth_base, growth_rate, growth_rate_end, updated_at)
+        VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, CURRENT_TIMESTAMP)
+        """;
+    
     @Override
     public CompletableFuture<Boolean> saveCrop(Crop crop) {
         return CompletableFuture.supplyAsync(() -> {
-            String sql = """
-                INSERT OR REPLACE INTO herbalism_crops 
-                (id, crop_type, owner_id, owner_name, world, x, y, z, plant_time, original_duration, 
-                 harvest_time, harvested, decayed, fertilized_by, growth_modifier, updated_at)
-                VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, CURRENT_TIMESTAMP)
-                """;
-            
             try (Connection conn = getConnection();
-                 PreparedStatement stmt = conn.prepareStatement(sql)) {
-                
-                stmt.setString(1, crop.getId().toString());
-                stmt.setString(2, crop.getCropType());
-                stmt.setString(3, crop.getOwnerId().toString());
-                stmt.setString(4, crop.getOwnerName());
-                stmt.setString(5, crop.getLocation().getWorld().getName());
-                stmt.setDouble(6, crop.getLocation().getX());
-                stmt.setDouble(7, crop.getLocation().getY());
-                stmt.setDouble(8, crop.getLocation().getZ());
-                stmt.setLong(9, crop.getPlantTime());
-                stmt.setLong(10, crop.getOriginalDuration());
-                stmt.setLong(11, crop.getHarvestTime());
-                stmt.setBoolean(12, crop.isHarvested());
-                stmt.setBoolean(13, crop.isDecayed());
-                stmt.setString(14, crop.getFertilizedBy().isEmpty() ? null : 
-                    String.join(",", crop.getFertilizedBy().stream().map(UUID::toString).toArray(String[]::new)));
-                stmt.setDouble(15, crop.getGrowthModifier());
+                 PreparedStatement stmt = conn.prepareStatement(SAVE_CROP_SQL)) {
                 
+                bindCrop(stmt, crop);
                 stmt.executeUpdate();
                 return true;
                 
@@ -388,18 +493,154 @@ public class SQLiteDatabase implements Database {
                 MessageUtil.error("Failed to save crop: " + e.getMessage());
                 return false;
             }
+        }, cropExecutor);
+    }
+    
+    @Override
+    public CompletableFuture<Boolean> saveCrops(Collection<Crop> crops) {
+        return CompletableFuture.supplyAsync(() -> {
+            if (crops.isEmpty()) return true;
+            
+            try (Connection conn = getConnection()) {
+                conn.setAutoCommit(false);
+                
+                try (PreparedStatement stmt = conn.prepareStatement(SAVE_CROP_SQL)) {
+                    for (Crop crop : crops) {
+                        bindCrop(stmt, crop);
+                        stmt.addBatch();
+                    }
+                    stmt.executeBatch();
+                    conn.commit();
+                    return true;
+                } catch (SQLException e) {
+                    conn.rollback();
+                    throw e;
+                }
+                
+            } catch (SQLException e) {
+                MessageUtil.error("Failed to save crops: " + e.getMessage());
+                return false;
+            }
+        }, cropExecutor);
+    }
+    
+    @Override
+    public CompletableFuture<Long> getMaxCropId() {
+        return CompletableFuture.supplyAsync(() -> {
+            try (Connection conn = getConnection();
+                 Statement stmt = conn.createStatement();
+                 ResultSet rs = stmt.executeQuery("SELECT MAX(id) FROM herbalism_crops")) {
+                
+                if (rs.next()) {
+                    return rs.getLong(1);
+                }
+                
+            } catch (SQLException e) {
+                MessageUtil.error("Failed to get highest crop id: " + e.getMessage());
+            }
+            
+            return 0L;
         });
     }
     
     @Override
-    public CompletableFuture<Crop> loadCrop(UUID cropId) {
+    public CompletableFuture<Map<UUID, Integer>> countCropsByOwner() {
+        return CompletableFuture.supplyAsync(() -> {
+            String sql = """
+                SELECT owner_id, COUNT(*) AS crop_count FROM herbalism_crops 
+                WHERE harvested = FALSE AND decayed = FALSE 
+                GROUP BY owner_id
+                """;
+            Map<UUID, Integer> counts = new HashMap<>();
+            
+            try (Connection conn = getConnection();
+                 PreparedStatement stmt = conn.prepareStatement(sql);
+                 ResultSet rs = stmt.executeQuery()) {
+                
+                while (rs.next()) {
+                    counts.put(UUID.fromString(rs.getString("owner_id")), rs.getInt("crop_count"));
+                }
+                
+            } catch (SQLException e) {
+                MessageUtil.error("Failed to count crops: " + e.getMessage());
+            }
+            
+            return counts;
+        }, cropExecutor);
+    }
+    
+    @Override
+    public CompletableFuture<Boolean> applyCropChanges(Collection<Crop> saves, Collection<Long> deletes) {
+        return CompletableFuture.supplyAsync(() -> {
+            if (saves.isEmpty() && deletes.isEmpty()) return true;
+            
+            try (Connection conn = getConnection()) {
+                conn.setAutoCommit(false);
+                
+                try (PreparedStatement delete = conn.prepareStatement("DELETE FROM herbalism_crops WHERE id = ?");
+                     PreparedStatement save = conn.prepareStatement(SAVE_CROP_SQL)) {
+                    for (long cropId : deletes) {
+                        delete.setLong(1, cropId);
+                        delete.addBatch();
+                    }
+                    for (Crop crop : saves) {
+                        bindCrop(save, crop);
+                        save.addBatch();
+                    }
+                    
+                    // Deletes first, so a crop replanted at the same spot is not removed again
+                    if (!deletes.isEmpty()) delete.executeBatch();
+                    if (!saves.isEmpty()) save.executeBatch();
+                    conn.commit();
+                    return true;
+                } catch (SQLException e) {
+                    conn.rollback();
+                    throw e;
+                }
+                
+            } catch (SQLException e) {
+                MessageUtil.error("Failed to apply crop changes: " + e.getMessage());
+                return false;
+            }
+        }, cropExecutor);
+    }
+    
+    private void bindCrop(PreparedStatement stmt, Crop crop) throws SQLException {
+        stmt.setLong(1, crop.getId());
+        stmt.setString(2, crop.getCropType());
+        stmt.setString(3, crop.getOwnerId().toString());
+        stmt.setString(4, crop.getOwnerName());
+        World world = crop.getWorld();
+        stmt.setString(5, world != null ? world.getName() : null);
+        stmt.setDouble(6, crop.getBlockX());
+        stmt.setDouble(7, crop.getBlockY());
+        stmt.setDouble(8, crop.getBlockZ());
+        stmt.setLong(9, crop.getPlantTime());
+        stmt.setLong(10, crop.getOriginalDuration());
+        stmt.setLong(11, crop.getHarvestTime());
+        stmt.setBoolean(12, crop.isHarvested());
+        stmt.setBoolean(13, crop.isDecayed());
+        stmt.setString(14, crop.getFertilizedBy().isEmpty() ? null : 
+            String.join(",", crop.getFertilizedBy().stream().map(UUID::toString).toArray(String[]::new)));
+        stmt.setDouble(15, crop.getGrowthModifier());
+        stmt.setString(16, crop.getFertilizerId());
+        stmt.setLong(17, crop.getFertilizerTime());
+        GrowthTimeline timeline = crop.getTimeline();
+        stmt.setLong(18, timeline.getStart());
+        stmt.setDouble(19, timeline.getBase());
+        stmt.setDouble(20, timeline.getRate());
+        stmt.setLong(21, timeline.getRateEnd());
+    }
+    
+    @Override
+    public CompletableFuture<Crop> loadCrop(long cropId) {
         return CompletableFuture.supplyAsync(() -> {
             String sql = "SELECT * FROM herbalism_crops WHERE id = ?";
             
             try (Connection conn = getConnection();
                  PreparedStatement stmt = conn.prepareStatement(sql)) {
                 
-                stmt.setString(1, cropId.toString());
+                stmt.setLong(1, cropId);
                 ResultSet rs = stmt.executeQuery();
                 
                 if (rs.next()) {
@@ -411,7 +652,7 @@ public class SQLiteDatabase implements Database {
             }
             
             return null;
-        });
+        }, cropExecutor);
     }
     
     @Override
@@ -438,7 +679,7 @@ public class SQLiteDatabase implements Database {
             }
             
             return crops;
-        });
+        }, cropExecutor);
     }
     
     @Override
@@ -463,18 +704,55 @@ public class SQLiteDatabase implements Database {
             }
             
             return crops;
-        });
+        }, cropExecutor);
     }
     
     @Override
-    public CompletableFuture<Boolean> deleteCrop(UUID cropId) {
+    public CompletableFuture<List<Crop>> loadCropsInChunk(String world, int chunkX, int chunkZ) {
+        return CompletableFuture.supplyAsync(() -> {
+            String sql = """
+                SELECT * FROM herbalism_crops 
+                WHERE world = ? AND x >= ? AND x < ? AND z >= ? AND z < ? 
+                  AND harvested = FALSE AND decayed = FALSE
+                """;
+            List<Crop> crops = new ArrayList<>();
+            
+            try (Connection conn = getConnection();
+                 PreparedStatement stmt = conn.prepareStatement(sql)) {
+                
+                int minX = chunkX << 4;
+                int minZ = chunkZ << 4;
+                stmt.setString(1, world);
+                stmt.setInt(2, minX);
+                stmt.setInt(3, minX + 16);
+                stmt.setInt(4, minZ);
+                stmt.setInt(5, minZ + 16);
+                ResultSet rs = stmt.executeQuery();
+                
+                while (rs.next()) {
+                    Crop crop = createCropFromResultSet(rs);
+                    if (crop != null) {
+                        crops.add(crop);
+                    }
+                }
+                
+            } catch (SQLException e) {
+                MessageUtil.error("Failed to load chunk crops: " + e.getMessage());
+            }
+            
+            return crops;
+        }, cropExecutor);
+    }
+    
+    @Override
+    public CompletableFuture<Boolean> deleteCrop(long cropId) {
         return CompletableFuture.supplyAsync(() -> {
             String sql = "DELETE FROM herbalism_crops WHERE id = ?";
             
             try (Connection conn = getConnection();
                  PreparedStatement stmt = conn.prepareStatement(sql)) {
                 
-                stmt.setString(1, cropId.toString());
+                stmt.setLong(1, cropId);
                 int affected = stmt.executeUpdate();
                 return affected > 0;
                 
@@ -482,7 +760,7 @@ public class SQLiteDatabase implements Database {
                 MessageUtil.error("Failed to delete crop: " + e.getMessage());
                 return false;
             }
-        });
+        }, cropExecutor);
     }
     
     @Override
@@ -501,11 +779,11 @@ public class SQLiteDatabase implements Database {
                 MessageUtil.error("Failed to delete player crops: " + e.getMessage());
                 return false;
             }
-        });
+        }, cropExecutor);
     }
     
     @Override
-    public CompletableFuture<Boolean> updateCropStatus(UUID cropId, boolean harvested, boolean decayed) {
+    public CompletableFuture<Boolean> updateCropStatus(long cropId, boolean harvested, boolean decayed) {
         return CompletableFuture.supplyAsync(() -> {
             String sql = "UPDATE herbalism_crops SET harvested = ?, decayed = ?, updated_at = CURRENT_TIMESTAMP WHERE id = ?";
             
@@ -514,7 +792,7 @@ public class SQLiteDatabase implements Database {
                 
                 stmt.setBoolean(1, harvested);
                 stmt.setBoolean(2, decayed);
-                stmt.setString(3, cropId.toString());
+                stmt.setLong(3, cropId);
                 
                 int affected = stmt.executeUpdate();
                 return affected > 0;
@@ -523,7 +801,7 @@ public class SQLiteDatabase implements Database {
                 MessageUtil.error("Failed to update crop status: " + e.getMessage());
                 return false;
             }
-        });
+        }, cropExecutor);
     }
     
     @Override
@@ -628,7 +906,7 @@ public class SQLiteDatabase implements Database {
     }
     
     private Crop createCropFromResultSet(ResultSet rs) throws SQLException {
-        UUID cropId = UUID.fromString(rs.getString("id"));
+        long cropId = rs.getLong("id");
         String cropType = rs.getString("crop_type");
         UUID ownerId = UUID.fromString(rs.getString("owner_id"));
         String ownerName = rs.getString("owner_name");
@@ -653,7 +931,7 @@ public class SQLiteDatabase implements Database {
         
         // Create crop using reflection or deserialization
         Map<String, Object> data = new HashMap<>();
-        data.put("id", cropId.toString());
+        data.put("id", cropId);
         data.put("crop_type", cropType);
         data.put("owner_id", ownerId.toString());
         data.put("owner_name", ownerName);
@@ -667,6 +945,16 @@ public class SQLiteDatabase implements Database {
         data.put("harvested", harvested);
         data.put("decayed", decayed);
         data.put("growth_modifier", growthModifier);
+        data.put("fertilizer", rs.getString("fertilizer"));
+        data.put("fertilizer_time", rs.getLong("fertilizer_time"));
+        
+        long growthStart = rs.getLong("growth_start");
+        if (!rs.wasNull()) {
+            data.put("growth_start", growthStart);
+            data.put("growth_base", rs.getDouble("growth_base"));
+            data.put("growth_rate", rs.getDouble("growth_rate"));
+            data.put("growth_rate_end", rs.getLong("growth_rate_end"));
+        }
         
         String fertilizedByStr = rs.getString("fertilized_by");
         if (fertilizedByStr != null && !fertilizedByStr.isEmpty()) {
@@ -1,5 +1,7 @@
 package me.devupdates.herbalism.fertilizer;
 
+import me.devupdates.herbalism.core.HerbalismPlugin;
+import me.devupdates.herbalism.item.ItemRegistry;
 import org.bukkit.Material;
 import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.inventory.ItemStack;
@@ -20,6 +22,8 @@ public class Fertilizer {
     private final int experienceGain;
     private final boolean permanent;
     private final int stackSize;
+    private final int radius; // 0 = only the clicked crop
+    private final boolean placeable;
     
     public Fertilizer(String id, ConfigurationSection config) {
         this.id = id;
@@ -33,6 +37,8 @@ public class Fertilizer {
         this.experienceGain = config.getInt("experience-gain", 5);
         this.permanent = config.getBoolean("permanent", false);
         this.stackSize = config.getInt("stack-size", 64);
+        this.radius = Math.max(0, config.getInt("radius", 0));
+        this.placeable = config.getBoolean("placeable", false);
     }
     
     public String getId() {
@@ -79,6 +85,27 @@ public class Fertilizer {
         return stackSize;
     }
     
+    /**
+     * Gets the radius in blocks this fertilizer reaches around the clicked crop or placed block
+     */
+    public int getRadius() {
+        return radius;
+    }
+    
+    /**
+     * Checks if this fertilizer works on every crop in its radius instead of a single one
+     */
+    public boolean isAreaEffect() {
+        return radius > 0;
+    }
+    
+    /**
+     * Checks if this fertilizer is placed as a block, fertilizing the crops around it
+     */
+    public boolean isPlaceable() {
+        return placeable;
+    }
+    
     /**
      * Creates an ItemStack representation of this fertilizer
      */
@@ -98,6 +125,7 @@ public class Fertilizer {
             if (!lore.isEmpty()) {
                 meta.setLore(lore);
             }
+            HerbalismPlugin.getInstance().getItemManager().tag(meta, ItemRegistry.fertilizerTag(id));
             item.setItemMeta(meta);
         }
         
@@ -94,7 +94,7 @@ public class CropsGui extends GuiBase {
     }
     
     private ItemStack createCropItem(Crop crop) {
-        CropManager.CropType cropType = plugin.getCropManager().getCropType(crop.getCropType());
+        CropManager.CropType cropType = plugin.getCropManager().getCropType(crop.getCropTypeId());
         if (cropType == null) {
             return createItem(Material.BARRIER, "&cInvalid Crop", "&cThis crop type is no longer valid");
         }
@@ -159,13 +159,8 @@ public class CropsGui extends GuiBase {
     }
     
     private void setupNavigationButtons() {
-        int totalCrops = 0;
-        
-        for (Crop crop : plugin.getCropManager().getPlayerCrops(player.getUniqueId())) {
-            if (crop != null && !crop.isHarvested()) {
-                totalCrops++;
-            }
-        }
+        // Harvested crops are never in the owner index
+        int totalCrops = plugin.getCropManager().getLoadedPlayerCropCount(player.getUniqueId());
         
         int totalPages = (int) Math.ceil((double) totalCrops / cropsPerPage);
         
@@ -72,7 +72,7 @@ public class MainMenuGui extends GuiBase {
         lore.add("&8• &6Agriculturist &7- Increased yield");
         lore.add("&8• &eFarmer's Luck &7- Bonus drops");
         lore.add("&8• &aGreen Thumb &7- Faster growth");
-        lore.add("&8• &dHarvest Master &7- Resource efficiency");
+        lore.add("&8• &dHarvest Master &7- Area harvesting");
         lore.add("&8• &bNature's Blessing &7- Instant maturation");
         lore.add("");
         lore.add("&e&lClick to view abilities!");
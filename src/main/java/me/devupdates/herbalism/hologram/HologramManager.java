@@ -2,14 +2,14 @@ package me.devupdates.herbalism.hologram;
 
 import me.devupdates.herbalism.core.HerbalismPlugin;
 import me.devupdates.herbalism.crop.Crop;
+import me.devupdates.herbalism.crop.CropEvent;
+import me.devupdates.herbalism.crop.CropEventBus;
 import me.devupdates.herbalism.manager.CropManager;
+import me.devupdates.herbalism.scheduler.TaskHandle;
 import me.devupdates.herbalism.util.MessageUtil;
 import me.devupdates.herbalism.util.TimeUtil;
-import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.entity.Player;
-import org.bukkit.scheduler.BukkitRunnable;
-import org.bukkit.scheduler.BukkitTask;
 
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
@@ -19,17 +19,20 @@ public class HologramManager {
     private final HerbalismPlugin plugin;
     
     // Hologram storage - one hologram per crop
-    private final Map<UUID, ArmorStandHologram> activeHolograms = new ConcurrentHashMap<>();
+    private final Map<Long, ArmorStandHologram> activeHolograms = new ConcurrentHashMap<>();
+    
+    // Crops shown by the holograms, so their content can be refreshed without looking them up
+    private final Map<Long, Crop> hologramCrops = new ConcurrentHashMap<>();
     
     // Player cooldowns to prevent spam
     private final Map<UUID, Long> playerCooldowns = new ConcurrentHashMap<>();
     
     // Hologram expiration tracking
-    private final Map<UUID, BukkitTask> hologramTasks = new ConcurrentHashMap<>();
+    private final Map<Long, TaskHandle> hologramTasks = new ConcurrentHashMap<>();
     
     // Scheduled tasks
-    private BukkitTask updateTask;
-    private BukkitTask cleanupTask;
+    private TaskHandle updateTask;
+    private TaskHandle cleanupTask;
     
     // Performance settings
     private static final long PLAYER_COOLDOWN_MS = 1000; // 1 second cooldown between hologram requests
@@ -37,6 +40,7 @@ public class HologramManager {
     
     public HologramManager(HerbalismPlugin plugin) {
         this.plugin = plugin;
+        subscribeToCropEvents();
         startScheduledTasks();
         MessageUtil.info("Hologram manager initialized with optimized ArmorStand system");
     }
@@ -50,7 +54,7 @@ public class HologramManager {
         }
         
         UUID playerId = player.getUniqueId();
-        UUID cropId = crop.getId();
+        long cropId = crop.getId();
         
         // Check cooldown to prevent spam
         if (isPlayerOnCooldown(playerId)) {
@@ -78,6 +82,7 @@ public class HologramManager {
             hologram = createCropHologram(crop);
             if (hologram != null) {
                 activeHolograms.put(cropId, hologram);
+                hologramCrops.put(cropId, crop);
             } else {
                 return;
             }
@@ -87,7 +92,7 @@ public class HologramManager {
         hologram.showToPlayer(player);
         
         // Cancel existing expiration task for this hologram
-        BukkitTask existingTask = hologramTasks.get(cropId);
+        TaskHandle existingTask = hologramTasks.get(cropId);
         if (existingTask != null) {
             existingTask.cancel();
         }
@@ -95,7 +100,7 @@ public class HologramManager {
         // Schedule automatic cleanup
         int duration = plugin.getConfigManager().getHologramDuration();
         if (duration > 0) {
-            BukkitTask cleanupTask = Bukkit.getScheduler().runTaskLater(plugin, () -> {
+            TaskHandle cleanupTask = plugin.getPlatformScheduler().runAtLocationLater(hologram.getLocation(), () -> {
                 destroyHologram(cropId);
             }, duration * 20L);
             
@@ -109,7 +114,7 @@ public class HologramManager {
      * Hides a hologram for a crop from a specific player
      */
     public void hideCropHologram(Player player, Crop crop) {
-        UUID cropId = crop.getId();
+        long cropId = crop.getId();
         ArmorStandHologram hologram = activeHolograms.get(cropId);
         
         if (hologram != null) {
@@ -128,8 +133,8 @@ public class HologramManager {
     public void hideAllHolograms(Player player) {
         UUID playerId = player.getUniqueId();
         
-        for (Map.Entry<UUID, ArmorStandHologram> entry : activeHolograms.entrySet()) {
-            UUID cropId = entry.getKey();
+        for (Map.Entry<Long, ArmorStandHologram> entry : activeHolograms.entrySet()) {
+            long cropId = entry.getKey();
             ArmorStandHologram hologram = entry.getValue();
             
             if (hologram.isVisibleTo(player)) {
@@ -144,45 +149,72 @@ public class HologramManager {
     }
     
     /**
-     * Updates all active holograms
+     * Updates the countdown of all active holograms. Crops that are gone already
+     * removed their hologram through a crop event.
      */
     public void updateAllHolograms() {
-        Iterator<Map.Entry<UUID, ArmorStandHologram>> iterator = activeHolograms.entrySet().iterator();
-        
-        while (iterator.hasNext()) {
-            Map.Entry<UUID, ArmorStandHologram> entry = iterator.next();
-            UUID cropId = entry.getKey();
+        for (Map.Entry<Long, ArmorStandHologram> entry : activeHolograms.entrySet()) {
             ArmorStandHologram hologram = entry.getValue();
+            Crop crop = hologramCrops.get(entry.getKey());
+            if (crop == null) continue;
             
-            Crop crop = plugin.getCropManager().getCrop(cropId);
-            if (crop == null || crop.isHarvested()) {
-                // Crop no longer exists, remove hologram
-                hologram.destroy();
-                iterator.remove();
-                
-                // Cancel associated task
-                BukkitTask task = hologramTasks.remove(cropId);
-                if (task != null) {
-                    task.cancel();
-                }
-            } else {
-                // Update hologram content
-                updateHologramContent(hologram, crop);
-            }
+            // Holograms are entities, so they are updated on the region owning them
+            plugin.getPlatformScheduler().runAtLocation(hologram.getLocation(),
+                    () -> updateHologramContent(hologram, crop));
         }
     }
     
+    /**
+     * Refreshes the hologram of a crop right away, if one is shown
+     */
+    public void refreshCropHologram(Crop crop) {
+        ArmorStandHologram hologram = activeHolograms.get(crop.getId());
+        if (hologram != null) {
+            updateHologramContent(hologram, crop);
+        }
+    }
+    
+    /**
+     * Keeps holograms in sync with their crops. Events are published on the thread
+     * owning the crop, which also owns the hologram above it.
+     */
+    private void subscribeToCropEvents() {
+        CropEventBus eventBus = plugin.getCropManager().getEventBus();
+        eventBus.subscribe(EnumSet.of(CropEvent.Type.STAGE_CHANGED, CropEvent.Type.READY),
+                event -> refreshCropHologram(event.getCrop()));
+        eventBus.subscribe(EnumSet.of(CropEvent.Type.HARVESTED, CropEvent.Type.DECAYED, CropEvent.Type.REMOVED,
+                        CropEvent.Type.UNLOADED),
+                event -> destroyHologram(event.getCrop().getId()));
+    }
+    
     /**
      * Destroys a specific hologram
      */
-    private void destroyHologram(UUID cropId) {
+    private void destroyHologram(long cropId) {
         ArmorStandHologram hologram = activeHolograms.remove(cropId);
         if (hologram != null) {
+            hologramCrops.remove(cropId);
             hologram.destroy();
         }
         
         // Cancel associated task
-        BukkitTask task = hologramTasks.remove(cropId);
+        TaskHandle task = hologramTasks.remove(cropId);
+        if (task != null) {
+            task.cancel();
+        }
+    }
+    
+    /**
+     * Destroys a hologram unless it was already replaced by a newer one
+     */
+    private void destroyHologram(long cropId, ArmorStandHologram hologram) {
+        if (!activeHolograms.remove(cropId, hologram)) {
+            return;
+        }
+        hologramCrops.remove(cropId);
+        hologram.destroy();
+        
+        TaskHandle task = hologramTasks.remove(cropId);
         if (task != null) {
             task.cancel();
         }
@@ -208,7 +240,7 @@ public class HologramManager {
     private List<String> generateHologramLines(Crop crop) {
         List<String> lines = new ArrayList<>();
         
-        CropManager.CropType cropType = plugin.getCropManager().getCropType(crop.getCropType());
+        CropManager.CropType cropType = plugin.getCropManager().getCropType(crop.getCropTypeId());
         if (cropType == null) {
             lines.add("&c&lInvalid Crop");
             return lines;
@@ -321,20 +353,10 @@ public class HologramManager {
      */
     private void startScheduledTasks() {
         // Update task - updates hologram content every 5 seconds
-        updateTask = new BukkitRunnable() {
-            @Override
-            public void run() {
-                updateAllHolograms();
-            }
-        }.runTaskTimer(plugin, 100L, 100L); // 5 seconds
+        updateTask = plugin.getPlatformScheduler().runGlobalTimer(this::updateAllHolograms, 100L, 100L); // 5 seconds
         
         // Cleanup task - removes expired cooldowns and performs maintenance
-        cleanupTask = new BukkitRunnable() {
-            @Override
-            public void run() {
-                performMaintenance();
-            }
-        }.runTaskTimer(plugin, 600L, 600L); // 30 seconds
+        cleanupTask = plugin.getPlatformScheduler().runGlobalTimer(this::performMaintenance, 600L, 600L); // 30 seconds
     }
     
     /**
@@ -346,21 +368,13 @@ public class HologramManager {
         playerCooldowns.entrySet().removeIf(entry -> entry.getValue() < currentTime);
         
         // Remove holograms without viewers
-        Iterator<Map.Entry<UUID, ArmorStandHologram>> iterator = activeHolograms.entrySet().iterator();
-        while (iterator.hasNext()) {
-            Map.Entry<UUID, ArmorStandHologram> entry = iterator.next();
-            UUID cropId = entry.getKey();
+        for (Map.Entry<Long, ArmorStandHologram> entry : activeHolograms.entrySet()) {
+            long cropId = entry.getKey();
             ArmorStandHologram hologram = entry.getValue();
             
             if (hologram.getViewerCount() == 0) {
-                hologram.destroy();
-                iterator.remove();
-                
-                // Cancel associated task
-                BukkitTask task = hologramTasks.remove(cropId);
-                if (task != null) {
-                    task.cancel();
-                }
+                plugin.getPlatformScheduler().runAtLocation(hologram.getLocation(),
+                        () -> destroyHologram(cropId, hologram));
             }
         }
     }
@@ -377,7 +391,7 @@ public class HologramManager {
         }
         
         // Cancel all hologram tasks
-        for (BukkitTask task : hologramTasks.values()) {
+        for (TaskHandle task : hologramTasks.values()) {
             if (task != null) {
                 task.cancel();
             }
@@ -390,6 +404,7 @@ public class HologramManager {
         }
         
         activeHolograms.clear();
+        hologramCrops.clear();
         playerCooldowns.clear();
         
         MessageUtil.info("Hologram manager shut down");
@@ -405,9 +420,10 @@ public class HologramManager {
                 hologram.destroy();
             }
             activeHolograms.clear();
+            hologramCrops.clear();
             
             // Cancel all tasks
-            for (BukkitTask task : hologramTasks.values()) {
+            for (TaskHandle task : hologramTasks.values()) {
                 if (task != null) {
                     task.cancel();
                 }
@@ -0,0 +1,103 @@
+package me.devupdates.herbalism.item;
+
+import me.devupdates.herbalism.core.HerbalismPlugin;
+import me.devupdates.herbalism.util.MessageUtil;
+import org.bukkit.Material;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A plugin item defined in items.yml, such as special seeds and tools
+ */
+public class CustomItem {
+    private final String id;
+    private final String name;
+    private final Material material;
+    private final List<String> lore;
+    private final boolean enchanted;
+    private final int customModelData;
+    private final String crop; // crop type planted with this item, or null
+
+    public CustomItem(String id, ConfigurationSection config) {
+        this.id = id;
+        this.name = config.getString("name", id);
+        this.material = Material.valueOf(config.getString("material", "STICK"));
+        this.lore = config.getStringList("lore");
+        this.enchanted = config.getBoolean("enchanted", false);
+        this.customModelData = config.getInt("custom-model-data", 0);
+        this.crop = config.getString("crop");
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Material getMaterial() {
+        return material;
+    }
+
+    public List<String> getLore() {
+        return new ArrayList<>(lore);
+    }
+
+    public boolean isEnchanted() {
+        return enchanted;
+    }
+
+    public int getCustomModelData() {
+        return customModelData;
+    }
+
+    /**
+     * Gets the id of the crop type planted with this item, or null if it is no seed
+     */
+    public String getCrop() {
+        return crop;
+    }
+
+    /**
+     * Creates a tagged ItemStack of this item with the specified amount
+     */
+    public ItemStack createItemStack(int amount) {
+        ItemStack item = new ItemStack(material, Math.max(1, amount));
+        ItemMeta meta = item.getItemMeta();
+
+        if (meta != null) {
+            meta.setDisplayName(MessageUtil.colorize(name));
+            if (!lore.isEmpty()) {
+                List<String> coloredLore = new ArrayList<>();
+                for (String line : lore) {
+                    coloredLore.add(MessageUtil.colorize(line));
+                }
+                meta.setLore(coloredLore);
+            }
+            if (enchanted) {
+                meta.setEnchantmentGlintOverride(true);
+            }
+            if (customModelData > 0) {
+                meta.setCustomModelData(customModelData);
+            }
+            HerbalismPlugin.getInstance().getItemManager().tag(meta, ItemRegistry.itemTag(id));
+            item.setItemMeta(meta);
+        }
+
+        return item;
+    }
+
+    @Override
+    public String toString() {
+        return "CustomItem{" +
+                "id='" + id + '\'' +
+                ", material=" + material +
+                ", crop=" + crop +
+                '}';
+    }
+}
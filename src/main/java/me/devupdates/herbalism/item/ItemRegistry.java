@@ -0,0 +1,139 @@
+package me.devupdates.herbalism.item;
+
+import me.devupdates.herbalism.fertilizer.Fertilizer;
+import org.bukkit.Material;
+import org.bukkit.NamespacedKey;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+import org.bukkit.persistence.PersistentDataType;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable lookup of the items issued by the plugin. Items carry their id in a
+ * persistent data tag, so classifying a held item is a material set test followed
+ * by a single tag read, without copying the item's meta.
+ */
+public final class ItemRegistry {
+
+    private static final String FERTILIZER_PREFIX = "fertilizer:";
+    private static final String ITEM_PREFIX = "item:";
+
+    /** Holds "fertilizer:&lt;id&gt;" or "item:&lt;id&gt;" on every item issued by the plugin */
+    private final NamespacedKey itemKey;
+    private final Map<String, Fertilizer> fertilizersByTag;
+    private final Map<String, CustomItem> itemsByTag;
+    private final Map<String, CustomItem> itemsById;
+    private final Set<Material> materials;
+    // Fertilizers handed out before items were tagged, matched by display name
+    private final Map<Material, Map<String, Fertilizer>> legacyFertilizers;
+
+    private ItemRegistry(NamespacedKey itemKey, Map<String, Fertilizer> fertilizersByTag,
+                         Map<String, CustomItem> itemsByTag, Map<String, CustomItem> itemsById,
+                         Set<Material> materials, Map<Material, Map<String, Fertilizer>> legacyFertilizers) {
+        this.itemKey = itemKey;
+        this.fertilizersByTag = fertilizersByTag;
+        this.itemsByTag = itemsByTag;
+        this.itemsById = itemsById;
+        this.materials = materials;
+        this.legacyFertilizers = legacyFertilizers;
+    }
+
+    /**
+     * Compiles a registry from the loaded fertilizers and custom items
+     *
+     * @param itemKey the plugin's key of the item tag
+     */
+    public static ItemRegistry compile(NamespacedKey itemKey, Collection<Fertilizer> fertilizers,
+                                       Collection<CustomItem> items) {
+        Map<String, Fertilizer> fertilizersByTag = new HashMap<>();
+        Map<String, CustomItem> itemsByTag = new HashMap<>();
+        Map<String, CustomItem> itemsById = new HashMap<>();
+        Set<Material> materials = EnumSet.noneOf(Material.class);
+        Map<Material, Map<String, Fertilizer>> legacyFertilizers = new EnumMap<>(Material.class);
+
+        for (Fertilizer fertilizer : fertilizers) {
+            fertilizersByTag.put(fertilizerTag(fertilizer.getId()), fertilizer);
+            materials.add(fertilizer.getMaterial());
+            legacyFertilizers.computeIfAbsent(fertilizer.getMaterial(), material -> new HashMap<>())
+                    .putIfAbsent(fertilizer.getName(), fertilizer);
+        }
+        for (CustomItem item : items) {
+            itemsByTag.put(itemTag(item.getId()), item);
+            itemsById.put(item.getId(), item);
+            materials.add(item.getMaterial());
+        }
+
+        return new ItemRegistry(itemKey, fertilizersByTag, itemsByTag, Collections.unmodifiableMap(itemsById),
+                materials, legacyFertilizers);
+    }
+
+    public static String fertilizerTag(String id) {
+        return FERTILIZER_PREFIX + id;
+    }
+
+    public static String itemTag(String id) {
+        return ITEM_PREFIX + id;
+    }
+
+    /**
+     * Marks an item meta as a plugin item with the given tag
+     */
+    public void tag(ItemMeta meta, String tag) {
+        meta.getPersistentDataContainer().set(itemKey, PersistentDataType.STRING, tag);
+    }
+
+    /**
+     * Gets the fertilizer an item represents, or null if it is none
+     */
+    public Fertilizer getFertilizer(ItemStack item) {
+        if (!isCandidate(item)) return null;
+
+        String tag = readTag(item);
+        if (tag != null) {
+            return fertilizersByTag.get(tag);
+        }
+
+        Map<String, Fertilizer> byName = legacyFertilizers.get(item.getType());
+        if (byName == null) return null;
+
+        ItemMeta meta = item.getItemMeta();
+        return meta != null && meta.hasDisplayName() ? byName.get(meta.getDisplayName()) : null;
+    }
+
+    /**
+     * Gets the custom item an item represents, or null if it is none
+     */
+    public CustomItem getCustomItem(ItemStack item) {
+        if (!isCandidate(item)) return null;
+
+        String tag = readTag(item);
+        return tag != null ? itemsByTag.get(tag) : null;
+    }
+
+    /**
+     * Gets a custom item by its id
+     */
+    public CustomItem getCustomItem(String id) {
+        return itemsById.get(id);
+    }
+
+    public Map<String, CustomItem> getCustomItems() {
+        return itemsById;
+    }
+
+    private boolean isCandidate(ItemStack item) {
+        // Vanilla items without meta are by far the most common case and end here
+        return item != null && materials.contains(item.getType()) && item.hasItemMeta();
+    }
+
+    private String readTag(ItemStack item) {
+        return item.getPersistentDataContainer().get(itemKey, PersistentDataType.STRING);
+    }
+}
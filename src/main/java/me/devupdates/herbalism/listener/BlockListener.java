@@ -5,6 +5,9 @@ import me.devupdates.herbalism.crop.Crop;
 import me.devupdates.herbalism.fertilizer.Fertilizer;
 import me.devupdates.herbalism.manager.CropManager;
 import me.devupdates.herbalism.player.HerbalismPlayer;
+import me.devupdates.herbalism.util.LatencyRecorder;
+import me.devupdates.herbalism.util.MessageUtil;
+import me.devupdates.herbalism.util.PerformanceMonitor;
 import org.bukkit.Material;
 import org.bukkit.block.Block;
 import org.bukkit.entity.Player;
@@ -14,6 +17,7 @@ import org.bukkit.event.Listener;
 import org.bukkit.event.block.BlockBreakEvent;
 import org.bukkit.event.block.BlockPlaceEvent;
 import org.bukkit.event.player.PlayerInteractEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
 import org.bukkit.inventory.ItemStack;
 
 import java.util.Map;
@@ -22,99 +26,146 @@ public class BlockListener implements Listener {
     
     private final HerbalismPlugin plugin;
     
+    // Latency of the handlers and of the interaction paths they lead to
+    private final LatencyRecorder placeTimer;
+    private final LatencyRecorder breakTimer;
+    private final LatencyRecorder interactTimer;
+    private final LatencyRecorder plantingTimer;
+    private final LatencyRecorder harvestTimer;
+    private final LatencyRecorder fertilizerTimer;
+    private final LatencyRecorder infoTimer;
+    private final InteractionLimiter interactionLimiter;
+    
     public BlockListener(HerbalismPlugin plugin) {
         this.plugin = plugin;
+        this.interactionLimiter = new InteractionLimiter(
+            plugin.getConfigManager().getInteractionCoalesceWindow(),
+            plugin.getConfigManager().getInteractionInfoCooldown()
+        );
+        
+        PerformanceMonitor monitor = plugin.getPerformanceMonitor();
+        this.placeTimer = monitor.getRecorder(PerformanceMonitor.BLOCK_PLACE);
+        this.breakTimer = monitor.getRecorder(PerformanceMonitor.BLOCK_BREAK);
+        this.interactTimer = monitor.getRecorder(PerformanceMonitor.PLAYER_INTERACT);
+        this.plantingTimer = monitor.getRecorder(PerformanceMonitor.PLANTING);
+        this.harvestTimer = monitor.getRecorder(PerformanceMonitor.HARVEST);
+        this.fertilizerTimer = monitor.getRecorder(PerformanceMonitor.FERTILIZER);
+        this.infoTimer = monitor.getRecorder(PerformanceMonitor.INFO);
     }
     
     @EventHandler(priority = EventPriority.HIGH)
     public void onBlockPlace(BlockPlaceEvent event) {
-        Player player = event.getPlayer();
-        Block block = event.getBlock();
-        ItemStack item = event.getItemInHand();
-        
-        // Check if player is trying to plant a crop
-        if (isCropSeed(item)) {
-            handleCropPlanting(event, player, block, item);
+        long start = System.nanoTime();
+        try {
+            Player player = event.getPlayer();
+            Block block = event.getBlock();
+            ItemStack item = event.getItemInHand();
+            
+            // Check if player is trying to plant a crop
+            CropManager.CropType cropType = plugin.getItemManager().getSeedCropType(item);
+            if (cropType != null) {
+                long pathStart = System.nanoTime();
+                handleCropPlanting(event, player, block, cropType);
+                plantingTimer.recordSince(pathStart);
+                return;
+            }
+            
+            // Check if player is placing a fertilizer block (sprinkler)
+            Fertilizer fertilizer = plugin.getItemManager().getFertilizer(item);
+            if (fertilizer != null && fertilizer.isPlaceable()) {
+                long pathStart = System.nanoTime();
+                handleFertilizerPlacement(event, player, block, fertilizer);
+                fertilizerTimer.recordSince(pathStart);
+            }
+        } finally {
+            placeTimer.recordSince(start);
         }
     }
     
     @EventHandler(priority = EventPriority.HIGH)
     public void onBlockBreak(BlockBreakEvent event) {
-        Player player = event.getPlayer();
-        Block block = event.getBlock();
-        
-        // Check if player is trying to break a crop - first check the broken block
-        Crop crop = plugin.getCropManager().getCropAtLocation(block.getLocation());
-        
-        // If not found, check the block below (since crops are stored at farmland position)
-        if (crop == null) {
-            Block blockBelow = block.getRelative(0, -1, 0);
-            crop = plugin.getCropManager().getCropAtLocation(blockBelow.getLocation());
-        }
-        
-        if (crop != null) {
-            handleCropBreaking(event, player, crop);
+        long start = System.nanoTime();
+        try {
+            Block block = event.getBlock();
+            
+            // Check if player is trying to break a crop (either the farmland or the plant above it)
+            Crop crop = findCrop(block);
+            
+            if (crop != null) {
+                handleCropBreaking(event, event.getPlayer(), crop);
+            }
+        } finally {
+            breakTimer.recordSince(start);
         }
     }
     
     @EventHandler(priority = EventPriority.HIGH)
     public void onPlayerInteract(PlayerInteractEvent event) {
-        Player player = event.getPlayer();
-        Block block = event.getClickedBlock();
-        ItemStack item = event.getItem();
-        
-        if (block == null) return;
-        
-        // Check for crop harvesting - first check the clicked block
-        Crop crop = plugin.getCropManager().getCropAtLocation(block.getLocation());
-        
-        // If not found, check the block below (since crops are stored at farmland position)
-        if (crop == null) {
-            Block blockBelow = block.getRelative(0, -1, 0);
-            crop = plugin.getCropManager().getCropAtLocation(blockBelow.getLocation());
-        }
-        
-        if (crop != null) {
-            // Check if player is trying to apply fertilizer
-            if (item != null && event.getAction().name().contains("RIGHT_CLICK")) {
-                Fertilizer fertilizer = plugin.getFertilizerManager().identifyFertilizer(item);
-                if (fertilizer != null) {
-                    handleFertilizerApplication(event, player, crop, fertilizer);
-                    return;
+        long start = System.nanoTime();
+        try {
+            Block block = event.getClickedBlock();
+            if (block == null) return;
+            
+            // Check for crop harvesting (either the farmland or the plant above it)
+            Crop crop = findCrop(block);
+            
+            if (crop != null) {
+                Player player = event.getPlayer();
+                ItemStack item = event.getItem();
+                
+                // Check if player is trying to apply fertilizer
+                if (item != null && event.getAction().name().contains("RIGHT_CLICK")) {
+                    Fertilizer fertilizer = plugin.getFertilizerManager().identifyFertilizer(item);
+                    if (fertilizer != null) {
+                        // Repeated clicks are dropped before any message is built
+                        if (!interactionLimiter.tryFertilize(player.getUniqueId(), crop.getId(), System.currentTimeMillis())) {
+                            event.setCancelled(true);
+                            return;
+                        }
+                        
+                        long pathStart = System.nanoTime();
+                        handleFertilizerApplication(event, player, crop, fertilizer);
+                        fertilizerTimer.recordSince(pathStart);
+                        return;
+                    }
                 }
+                
+                // Handle regular crop interaction (harvesting)
+                handleCropInteraction(event, player, crop);
             }
-            
-            // Handle regular crop interaction (harvesting)
-            handleCropInteraction(event, player, crop);
+        } finally {
+            interactTimer.recordSince(start);
         }
     }
     
-    private boolean isCropSeed(ItemStack item) {
-        if (item == null || item.getType() == Material.AIR) {
-            return false;
-        }
+    @EventHandler
+    public void onPlayerQuit(PlayerQuitEvent event) {
+        interactionLimiter.forget(event.getPlayer().getUniqueId());
+    }
+    
+    /**
+     * Finds the crop at a block, checking the block below as well since crops are stored at
+     * their farmland position
+     */
+    private Crop findCrop(Block block) {
+        CropManager cropManager = plugin.getCropManager();
+        int x = block.getX();
+        int y = block.getY();
+        int z = block.getZ();
         
-        // Check if the item is a crop seed
-        for (CropManager.CropType cropType : plugin.getCropManager().getCropTypes()) {
-            if (cropType.getSeedMaterial() == item.getType()) {
-                return true;
-            }
+        // Most blocks are nowhere near a farm; this check covers both the farmland and the plant
+        if (!cropManager.getCropIndex().mightHaveCrop(block.getWorld().getUID(), x, y, z)) {
+            return null;
         }
         
-        return false;
+        Crop crop = cropManager.getCropAt(block.getWorld(), x, y, z);
+        if (crop == null) {
+            crop = cropManager.getCropAt(block.getWorld(), x, y - 1, z);
+        }
+        return crop;
     }
     
-    private void handleCropPlanting(BlockPlaceEvent event, Player player, Block block, ItemStack item) {
-        // Find the crop type for this seed
-        CropManager.CropType cropType = null;
-        for (CropManager.CropType type : plugin.getCropManager().getCropTypes()) {
-            if (type.getSeedMaterial() == item.getType()) {
-                cropType = type;
-                break;
-            }
-        }
-        
-        if (cropType == null) return;
+    private void handleCropPlanting(BlockPlaceEvent event, Player player, Block block, CropManager.CropType cropType) {
         
         // Check if player can plant this crop
         if (!plugin.getCropManager().canPlantCrop(player, cropType.getId())) {
@@ -147,6 +198,13 @@ public class BlockListener implements Listener {
             return;
         }
         
+        // Check the crop caps of the chunk and world
+        if (!plugin.getCropManager().hasRoomFor(belowBlock.getLocation())) {
+            event.setCancelled(true);
+            plugin.getLanguageManager().sendMessage(player, "messages.crops.plant-area-full");
+            return;
+        }
+        
         // Plant the crop
         boolean success = plugin.getCropManager().plantCrop(player, cropType.getId(), belowBlock.getLocation());
         if (success) {
@@ -183,9 +241,9 @@ public class BlockListener implements Listener {
             handleCropHarvesting(player, crop);
         } else {
             // Allow breaking, but remove from crop manager
-            plugin.getCropManager().breakCrop(player, crop.getLocation());
+            plugin.getCropManager().breakCrop(player, crop);
             
-            CropManager.CropType cropType = plugin.getCropManager().getCropType(crop.getCropType());
+            CropManager.CropType cropType = plugin.getCropManager().getCropType(crop.getCropTypeId());
             if (cropType != null) {
                 Map<String, Object> placeholders = plugin.getLanguageManager().createPlaceholders(
                     "crop_name", cropType.getName()
@@ -198,18 +256,39 @@ public class BlockListener implements Listener {
     private void handleCropInteraction(PlayerInteractEvent event, Player player, Crop crop) {
         // Check if player is right-clicking
         if (event.getAction().name().contains("RIGHT_CLICK")) {
+            long now = System.currentTimeMillis();
+            
+            // The other hand's event for the same click, or a held or auto-repeated click
+            if (!interactionLimiter.tryInteract(player.getUniqueId(), crop.getId(), now)) {
+                if (crop.isReadyForHarvest()) {
+                    event.setCancelled(true);
+                }
+                return;
+            }
+            
             // Check if crop is ready for harvest
             if (crop.isReadyForHarvest()) {
                 event.setCancelled(true);
                 handleCropHarvesting(player, crop);
-            } else {
+            } else if (interactionLimiter.tryShowInfo(player.getUniqueId(), now)) {
                 // Show crop information
+                long start = System.nanoTime();
                 showCropInfo(player, crop);
+                infoTimer.recordSince(start);
             }
         }
     }
     
     private void handleCropHarvesting(Player player, Crop crop) {
+        long start = System.nanoTime();
+        try {
+            harvestCrop(player, crop);
+        } finally {
+            harvestTimer.recordSince(start);
+        }
+    }
+    
+    private void harvestCrop(Player player, Crop crop) {
         // Check if player is the owner
         if (!crop.isOwner(player)) {
             plugin.getLanguageManager().sendMessage(player, "messages.crops.harvest-not-owner");
@@ -225,10 +304,15 @@ public class BlockListener implements Listener {
             return;
         }
         
+        // Harvest Master: sneaking harvests every ready crop around this one
+        if (player.isSneaking() && tryAreaHarvest(player, crop)) {
+            return;
+        }
+        
         // Harvest the crop
-        boolean success = plugin.getCropManager().harvestCrop(player, crop.getLocation());
+        boolean success = plugin.getCropManager().harvestCrop(player, crop);
         if (success) {
-            CropManager.CropType cropType = plugin.getCropManager().getCropType(crop.getCropType());
+            CropManager.CropType cropType = plugin.getCropManager().getCropType(crop.getCropTypeId());
             if (cropType != null) {
                 Map<String, Object> placeholders = plugin.getLanguageManager().createPlaceholders(
                     "crop_name", cropType.getName()
@@ -240,8 +324,27 @@ public class BlockListener implements Listener {
         }
     }
     
+    private boolean tryAreaHarvest(Player player, Crop crop) {
+        HerbalismPlayer herbalismPlayer = plugin.getPlayerManager().getPlayer(player);
+        if (herbalismPlayer == null) return false;
+        
+        int radius = plugin.getAbilityManager().getSnapshot(herbalismPlayer).getAreaHarvestRadius();
+        if (radius <= 0) return false;
+        
+        int maxPerTick = plugin.getConfigManager().getBulkHarvestPerTick();
+        plugin.getCropManager().harvestArea(player, crop.getLocation(), radius, maxPerTick).thenAccept(amount -> {
+            if (amount > 0) {
+                Map<String, Object> placeholders = plugin.getLanguageManager().createPlaceholders(
+                    "amount", amount
+                );
+                plugin.getLanguageManager().sendMessage(player, "messages.crops.area-harvested", placeholders);
+            }
+        });
+        return true;
+    }
+    
     private void showCropInfo(Player player, Crop crop) {
-        CropManager.CropType cropType = plugin.getCropManager().getCropType(crop.getCropType());
+        CropManager.CropType cropType = plugin.getCropManager().getCropType(crop.getCropTypeId());
         if (cropType == null) return;
         
         Map<String, Object> placeholders = plugin.getLanguageManager().createPlaceholders(
@@ -257,14 +360,33 @@ public class BlockListener implements Listener {
         }
         
         // Show hologram for the crop
-        plugin.getLogger().info("Attempting to show hologram for crop: " + crop.getCropType());
+        MessageUtil.debug("Attempting to show hologram for crop: " + crop.getCropType());
         plugin.getHologramManager().showCropHologram(player, crop);
     }
     
+    private void handleFertilizerPlacement(BlockPlaceEvent event, Player player, Block block, Fertilizer fertilizer) {
+        HerbalismPlayer herbalismPlayer = plugin.getPlayerManager().getPlayer(player);
+        
+        // The block only stays if it fertilized something, so the item is not wasted
+        if (herbalismPlayer == null
+                || plugin.getFertilizerManager().applyFertilizerArea(block.getLocation(), fertilizer, herbalismPlayer) == 0) {
+            event.setCancelled(true);
+        }
+    }
+    
     private void handleFertilizerApplication(PlayerInteractEvent event, Player player, Crop crop, Fertilizer fertilizer) {
         HerbalismPlayer herbalismPlayer = plugin.getPlayerManager().getPlayer(player);
         if (herbalismPlayer == null) return;
         
+        // Area fertilizers work on every crop around the clicked one in a single batch
+        if (fertilizer.isAreaEffect()) {
+            if (plugin.getFertilizerManager().applyFertilizerArea(crop.getLocation(), fertilizer, herbalismPlayer) > 0) {
+                consumeHeldItem(event, player);
+            }
+            event.setCancelled(true);
+            return;
+        }
+        
         // Check if crop is already harvested
         if (crop.isHarvested()) {
             plugin.getLanguageManager().sendMessage(player, "messages.fertilizer.already-harvested");
@@ -291,15 +413,20 @@ public class BlockListener implements Listener {
         
         // Try to apply fertilizer
         if (plugin.getFertilizerManager().applyFertilizer(crop, fertilizer, herbalismPlayer)) {
-            // Remove one fertilizer item from player's hand
-            ItemStack item = event.getItem();
-            if (item != null && item.getAmount() > 1) {
-                item.setAmount(item.getAmount() - 1);
-            } else {
-                player.getInventory().setItemInMainHand(null);
-            }
-            
+            consumeHeldItem(event, player);
             event.setCancelled(true);
         }
     }
+    
+    /**
+     * Removes one fertilizer item from player's hand
+     */
+    private void consumeHeldItem(PlayerInteractEvent event, Player player) {
+        ItemStack item = event.getItem();
+        if (item != null && item.getAmount() > 1) {
+            item.setAmount(item.getAmount() - 1);
+        } else {
+            player.getInventory().setItemInMainHand(null);
+        }
+    }
 } 
\ No newline at end of file
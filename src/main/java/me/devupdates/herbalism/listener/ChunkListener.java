@@ -0,0 +1,33 @@
+package me.devupdates.herbalism.listener;
+
+import me.devupdates.herbalism.core.HerbalismPlugin;
+import org.bukkit.Chunk;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.world.ChunkLoadEvent;
+import org.bukkit.event.world.ChunkUnloadEvent;
+
+public class ChunkListener implements Listener {
+    
+    private final HerbalismPlugin plugin;
+    
+    public ChunkListener(HerbalismPlugin plugin) {
+        this.plugin = plugin;
+    }
+    
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onChunkLoad(ChunkLoadEvent event) {
+        // Freshly generated chunks cannot contain any crops
+        if (event.isNewChunk()) return;
+        
+        Chunk chunk = event.getChunk();
+        plugin.getCropManager().loadChunk(chunk.getWorld(), chunk.getX(), chunk.getZ());
+    }
+    
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onChunkUnload(ChunkUnloadEvent event) {
+        Chunk chunk = event.getChunk();
+        plugin.getCropManager().unloadChunk(chunk.getWorld(), chunk.getX(), chunk.getZ());
+    }
+}
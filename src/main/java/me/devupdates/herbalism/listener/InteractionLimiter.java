@@ -0,0 +1,75 @@
+package me.devupdates.herbalism.listener;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Collapses repeated crop interactions of a player. One click fires an interact event
+ * per hand and holding right-click keeps firing, so a click on the same crop within the
+ * coalesce window is dropped, and crop info is shown at most once per cooldown.
+ * Fertilizing is tracked apart from harvesting, so a fertilizer in the off hand still
+ * gets through after the main hand was handled.
+ * A player's events run on the thread owning the player, so each state has one writer.
+ */
+class InteractionLimiter {
+
+    private final long coalesceMillis;
+    private final long infoCooldownMillis;
+    private final Map<UUID, State> states = new ConcurrentHashMap<>();
+
+    InteractionLimiter(long coalesceMillis, long infoCooldownMillis) {
+        this.coalesceMillis = Math.max(0L, coalesceMillis);
+        this.infoCooldownMillis = Math.max(0L, infoCooldownMillis);
+    }
+
+    /**
+     * Checks whether a harvest or info click on a crop should be handled, or is a repeat
+     */
+    boolean tryInteract(UUID playerId, long cropId, long now) {
+        return states.computeIfAbsent(playerId, id -> new State()).interaction.tryClick(cropId, now, coalesceMillis);
+    }
+
+    /**
+     * Checks whether a fertilizer click on a crop should be handled, or is a repeat
+     */
+    boolean tryFertilize(UUID playerId, long cropId, long now) {
+        return states.computeIfAbsent(playerId, id -> new State()).fertilizer.tryClick(cropId, now, coalesceMillis);
+    }
+
+    /**
+     * Checks whether crop info may be shown to a player again
+     */
+    boolean tryShowInfo(UUID playerId, long now) {
+        State state = states.computeIfAbsent(playerId, id -> new State());
+        if (now - state.lastInfo < infoCooldownMillis) {
+            return false;
+        }
+        state.lastInfo = now;
+        return true;
+    }
+
+    void forget(UUID playerId) {
+        states.remove(playerId);
+    }
+
+    private static final class State {
+        private final Click interaction = new Click();
+        private final Click fertilizer = new Click();
+        private long lastInfo = Long.MIN_VALUE / 2;
+    }
+
+    private static final class Click {
+        private long cropId;
+        private long time = Long.MIN_VALUE / 2;
+
+        private boolean tryClick(long cropId, long now, long window) {
+            boolean repeated = this.cropId == cropId && now - time < window;
+
+            // A held click keeps extending the window, so it does not get through again until released
+            this.cropId = cropId;
+            this.time = now;
+            return !repeated;
+        }
+    }
+}
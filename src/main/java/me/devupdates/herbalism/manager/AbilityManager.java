@@ -1,6 +1,7 @@
 package me.devupdates.herbalism.manager;
 
 import me.devupdates.herbalism.ability.Ability;
+import me.devupdates.herbalism.ability.AbilitySnapshot;
 import me.devupdates.herbalism.core.HerbalismPlugin;
 import me.devupdates.herbalism.crop.Crop;
 import me.devupdates.herbalism.player.HerbalismPlayer;
@@ -14,16 +15,26 @@ import java.util.concurrent.ConcurrentHashMap;
 
 public class AbilityManager {
     
+    public static final String GREEN_THUMB = "green_thumb";
+    public static final String AGRICULTURIST = "agriculturist";
+    public static final String FARMERS_LUCK = "farmers_luck";
+    public static final String HARVEST_MASTER = "harvest_master";
+    
     private final HerbalismPlugin plugin;
     private final Map<String, Ability> abilities;
     private final Map<UUID, Map<String, Long>> cooldowns;
     private final Map<UUID, Set<String>> toggledAbilities;
+    private final Map<UUID, AbilitySnapshot> snapshots;
+    // Abilities by dense ordinal, replaced as a whole on reload
+    private volatile Ability[] ordered = new Ability[0];
+    private volatile Map<String, Integer> ordinals = Collections.emptyMap();
     
     public AbilityManager(HerbalismPlugin plugin) {
         this.plugin = plugin;
-        this.abilities = new HashMap<>();
+        this.abilities = new LinkedHashMap<>();
         this.cooldowns = new ConcurrentHashMap<>();
         this.toggledAbilities = new ConcurrentHashMap<>();
+        this.snapshots = new ConcurrentHashMap<>();
         loadAbilities();
     }
     
@@ -32,6 +43,7 @@ public class AbilityManager {
      */
     private void loadAbilities() {
         abilities.clear();
+        indexAbilities();
         
         FileConfiguration config = plugin.getConfigManager().getAbilitiesConfig();
         ConfigurationSection abilitiesSection = config.getConfigurationSection("abilities");
@@ -54,9 +66,112 @@ public class AbilityManager {
             }
         }
         
+        indexAbilities();
+        checkHarvestMasterRadius();
         MessageUtil.info("Loaded " + abilities.size() + " abilities");
     }
     
+    /**
+     * Warns if Harvest Master has no radius. Older abilities.yml files configured it with
+     * an effect value for a different effect, which is no longer read as a radius.
+     */
+    private void checkHarvestMasterRadius() {
+        Ability harvestMaster = abilities.get(HARVEST_MASTER);
+        if (harvestMaster == null) return;
+        
+        for (Ability.AbilityLevel level : harvestMaster.getLevels()) {
+            if (level.getRadius() > 0) return;
+        }
+        MessageUtil.warn("Harvest Master has no radius set in abilities.yml, area harvesting stays disabled. "
+            + "Add a 'radius' to each of its levels to enable it.");
+    }
+    
+    /**
+     * Assigns the loaded abilities their ordinals and drops all snapshots
+     */
+    private void indexAbilities() {
+        Ability[] newOrdered = abilities.values().toArray(new Ability[0]);
+        Map<String, Integer> newOrdinals = new HashMap<>();
+        for (int i = 0; i < newOrdered.length; i++) {
+            newOrdinals.put(newOrdered[i].getId(), i);
+        }
+        
+        ordered = newOrdered;
+        ordinals = newOrdinals;
+        snapshots.clear();
+    }
+    
+    /**
+     * Gets the ordinal of an ability, or -1 if it is not loaded
+     */
+    public int getOrdinal(String abilityId) {
+        Integer ordinal = ordinals.get(abilityId);
+        return ordinal != null ? ordinal : -1;
+    }
+    
+    /**
+     * Gets the resolved abilities of a player, rebuilding them if the level changed
+     * or a cooldown ran out since they were resolved
+     */
+    public AbilitySnapshot getSnapshot(HerbalismPlayer player) {
+        UUID playerId = player.getUUID();
+        long now = System.currentTimeMillis();
+        
+        AbilitySnapshot snapshot = snapshots.get(playerId);
+        if (snapshot == null || !snapshot.isValid(player.getLevel(), now)) {
+            snapshot = buildSnapshot(player, now);
+            snapshots.put(playerId, snapshot);
+        }
+        return snapshot;
+    }
+    
+    private AbilitySnapshot buildSnapshot(HerbalismPlayer player, long now) {
+        Ability[] current = ordered;
+        int playerLevel = player.getLevel();
+        Set<String> playerToggled = toggledAbilities.get(player.getUUID());
+        Map<String, Long> playerCooldowns = cooldowns.get(player.getUUID());
+        
+        int[] levels = new int[current.length];
+        double[] effectValues = new double[current.length];
+        double[] chances = new double[current.length];
+        int[] radii = new int[current.length];
+        long validUntil = Long.MAX_VALUE;
+        
+        for (int i = 0; i < current.length; i++) {
+            Ability ability = current[i];
+            int level = ability.getUnlockedLevel(playerLevel);
+            if (level == 0) continue;
+            
+            if (ability.getType() == Ability.AbilityType.TOGGLE &&
+                (playerToggled == null || !playerToggled.contains(ability.getId()))) {
+                continue;
+            }
+            
+            Long cooldownEnd = playerCooldowns != null ? playerCooldowns.get(ability.getId()) : null;
+            if (cooldownEnd != null && now < cooldownEnd) {
+                // The snapshot has to be rebuilt once the ability is usable again
+                validUntil = Math.min(validUntil, cooldownEnd);
+                continue;
+            }
+            
+            Ability.AbilityLevel abilityLevel = ability.getLevel(level);
+            levels[i] = level;
+            effectValues[i] = abilityLevel != null ? abilityLevel.getEffectValue() : 0.0;
+            chances[i] = abilityLevel != null ? abilityLevel.getChance() : 0.0;
+            radii[i] = abilityLevel != null ? abilityLevel.getRadius() : 0;
+        }
+        
+        return new AbilitySnapshot(playerLevel, validUntil, levels, effectValues, chances, radii,
+            getOrdinal(GREEN_THUMB), getOrdinal(AGRICULTURIST), getOrdinal(FARMERS_LUCK), getOrdinal(HARVEST_MASTER));
+    }
+    
+    /**
+     * Drops the resolved abilities of a player, so they are rebuilt on next use
+     */
+    public void invalidate(UUID playerId) {
+        snapshots.remove(playerId);
+    }
+    
     /**
      * Gets an ability by ID
      */
@@ -181,9 +296,11 @@ public class AbilityManager {
         
         if (playerToggled.contains(abilityId)) {
             playerToggled.remove(abilityId);
+            invalidate(playerId);
             return false; // Turned off
         } else {
             playerToggled.add(abilityId);
+            invalidate(playerId);
             return true; // Turned on
         }
     }
@@ -228,6 +345,7 @@ public class AbilityManager {
     public void setCooldown(UUID playerId, String abilityId, long cooldownMillis) {
         Map<String, Long> playerCooldowns = cooldowns.computeIfAbsent(playerId, k -> new ConcurrentHashMap<>());
         playerCooldowns.put(abilityId, System.currentTimeMillis() + cooldownMillis);
+        invalidate(playerId);
     }
     
     /**
@@ -235,6 +353,7 @@ public class AbilityManager {
      */
     public void clearCooldowns(UUID playerId) {
         cooldowns.remove(playerId);
+        invalidate(playerId);
     }
     
     /**
@@ -242,51 +361,28 @@ public class AbilityManager {
      */
     public void clearToggles(UUID playerId) {
         toggledAbilities.remove(playerId);
+        invalidate(playerId);
     }
     
     /**
      * Gets the effective level of an ability for a player
      */
     public int getEffectiveLevel(HerbalismPlayer player, String abilityId) {
-        Ability ability = getAbility(abilityId);
-        if (ability == null) return 0;
-        
-        int unlockedLevel = ability.getUnlockedLevel(player.getLevel());
-        
-        // Check if ability is toggled off
-        if (ability.getType() == Ability.AbilityType.TOGGLE && 
-            !isAbilityToggled(player.getUUID(), abilityId)) {
-            return 0;
-        }
-        
-        // Check if ability is on cooldown
-        if (isOnCooldown(player.getUUID(), abilityId)) {
-            return 0;
-        }
-        
-        return unlockedLevel;
+        return getSnapshot(player).getLevel(getOrdinal(abilityId));
     }
     
     /**
      * Gets the effect value for a player's ability
      */
     public double getEffectValue(HerbalismPlayer player, String abilityId) {
-        int level = getEffectiveLevel(player, abilityId);
-        if (level == 0) return 0.0;
-        
-        Ability ability = getAbility(abilityId);
-        return ability != null ? ability.getEffectValue(level) : 0.0;
+        return getSnapshot(player).getEffectValue(getOrdinal(abilityId));
     }
     
     /**
      * Gets the chance for a player's ability
      */
     public double getChance(HerbalismPlayer player, String abilityId) {
-        int level = getEffectiveLevel(player, abilityId);
-        if (level == 0) return 0.0;
-        
-        Ability ability = getAbility(abilityId);
-        return ability != null ? ability.getChance(level) : 0.0;
+        return getSnapshot(player).getChance(getOrdinal(abilityId));
     }
     
     /**
@@ -302,5 +398,6 @@ public class AbilityManager {
     public void clearAllData() {
         cooldowns.clear();
         toggledAbilities.clear();
+        snapshots.clear();
     }
 } 
\ No newline at end of file
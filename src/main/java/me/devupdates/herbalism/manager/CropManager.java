@@ -1,57 +1,178 @@
 package me.devupdates.herbalism.manager;
 
+import me.devupdates.herbalism.ability.AbilitySnapshot;
 import me.devupdates.herbalism.core.HerbalismPlugin;
+import me.devupdates.herbalism.crop.CompactCropStore;
 import me.devupdates.herbalism.crop.Crop;
+import me.devupdates.herbalism.crop.CropBlockWriter;
+import me.devupdates.herbalism.crop.CropChunk;
+import me.devupdates.herbalism.crop.CropEvent;
+import me.devupdates.herbalism.crop.CropEventBus;
+import me.devupdates.herbalism.crop.CropIndex;
+import me.devupdates.herbalism.crop.CropMutation;
+import me.devupdates.herbalism.crop.CropRegistry;
+import me.devupdates.herbalism.crop.CropScheduler;
+import me.devupdates.herbalism.crop.CropUpdateQueue;
+import me.devupdates.herbalism.crop.CropUpdateWorker;
+import me.devupdates.herbalism.crop.DropTable;
+import me.devupdates.herbalism.crop.LagGuard;
+import me.devupdates.herbalism.crop.OwnerIndex;
 import me.devupdates.herbalism.player.HerbalismPlayer;
+import me.devupdates.herbalism.scheduler.PlatformScheduler;
 import me.devupdates.herbalism.util.MessageUtil;
+import me.devupdates.herbalism.util.TimeUtil;
+import org.bukkit.Chunk;
 import org.bukkit.Location;
 import org.bukkit.Material;
+import org.bukkit.World;
 import org.bukkit.block.Block;
+import org.bukkit.block.data.Ageable;
+import org.bukkit.block.data.BlockData;
 import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class CropManager {
     
     private final HerbalismPlugin plugin;
-    private final Map<UUID, Crop> crops = new ConcurrentHashMap<>();
-    private final Map<Location, Crop> locationToCrop = new ConcurrentHashMap<>();
-    private final Map<UUID, Set<UUID>> playerCrops = new ConcurrentHashMap<>();
-    private final Map<String, CropType> cropTypes = new HashMap<>();
+    private final CropIndex cropIndex = new CropIndex();
+    private final CropScheduler cropScheduler = new CropScheduler();
+    private final CropUpdateQueue updateQueue;
+    private final CropUpdateWorker updateWorker;
+    private final CompactCropStore unloadedCrops;
+    private final Map<UUID, Map<Long, Queue<PendingRemoval>>> pendingRemovals = new ConcurrentHashMap<>();
+    private final OwnerIndex ownerIndex = new OwnerIndex();
+    private final CropEventBus eventBus;
+    private volatile LagGuard lagGuard;
+    private volatile CropRegistry registry = CropRegistry.empty();
     
     public CropManager(HerbalismPlugin plugin) {
         this.plugin = plugin;
-        loadCropTypes();
-        MessageUtil.info("CropManager initialized with " + cropTypes.size() + " crop types!");
+        this.updateQueue = new CropUpdateQueue(plugin.getConfigManager().getCropApplyQueueSize());
+        this.updateWorker = new CropUpdateWorker(cropScheduler, updateQueue,
+                plugin.getConfigManager().getCropWorkerThreads());
+        this.unloadedCrops = plugin.getConfigManager().isCompactUnloadedCrops()
+                ? new CompactCropStore() : null;
+        this.eventBus = new CropEventBus(plugin.getPlatformScheduler(),
+                plugin.getConfigManager().getCropEventBatchInterval());
+        if (plugin.getConfigManager().isLagGuardEnabled()) {
+            this.lagGuard = new LagGuard(cropIndex, plugin.getConfigManager().getLagGuardMsptThreshold(),
+                    plugin.getConfigManager().getLagGuardDenseChunkSize(),
+                    plugin.getConfigManager().getLagGuardSlowInterval() * 1000L);
+            cropScheduler.setLagGuard(lagGuard);
+        }
+        this.registry = compileRegistry(parseCropTypes(plugin.getConfigManager().getCropsConfig()), 1);
+        MessageUtil.info("CropManager initialized with " + registry.size() + " crop types!");
     }
     
-    private void loadCropTypes() {
-        FileConfiguration cropsConfig = plugin.getConfigManager().getCropsConfig();
+    /**
+     * Parses the crop types of the given configuration. Touches no server state,
+     * so it may run off the main thread.
+     */
+    private List<CropTypeDefinition> parseCropTypes(FileConfiguration cropsConfig) {
         ConfigurationSection cropsSection = cropsConfig.getConfigurationSection("crops");
         
         if (cropsSection == null) {
             MessageUtil.warning("No crops configuration found!");
-            return;
+            return Collections.emptyList();
         }
         
+        List<CropTypeDefinition> definitions = new ArrayList<>();
         for (String cropId : cropsSection.getKeys(false)) {
             try {
                 ConfigurationSection cropSection = cropsSection.getConfigurationSection(cropId);
                 if (cropSection != null) {
-                    CropType cropType = loadCropType(cropId, cropSection);
-                    cropTypes.put(cropId, cropType);
+                    definitions.add(parseCropType(cropId, cropSection));
                 }
             } catch (Exception e) {
                 MessageUtil.error("Error loading crop type " + cropId + ": " + e.getMessage());
             }
         }
+        return definitions;
+    }
+    
+    /**
+     * Compiles parsed crop types into a new registry. Creates block data, so it must
+     * run on a server thread.
+     */
+    private CropRegistry compileRegistry(List<CropTypeDefinition> definitions, long version) {
+        List<CropType> types = new ArrayList<>();
+        for (CropTypeDefinition definition : definitions) {
+            try {
+                types.add(definition.build());
+            } catch (Exception e) {
+                MessageUtil.error("Error loading crop type " + definition.id + ": " + e.getMessage());
+            }
+        }
+        return CropRegistry.compile(version, types);
+    }
+    
+    /**
+     * Parses the crop types from the current configuration off the main thread, then
+     * compiles and swaps them in on the global thread. Crops are rescheduled afterwards
+     * on the threads owning their chunks, since growth stages may have changed.
+     * The future completes once the new registry is in use.
+     */
+    public CompletableFuture<CropRegistry> reloadCropTypes() {
+        FileConfiguration cropsConfig = plugin.getConfigManager().getCropsConfig();
+        PlatformScheduler scheduler = plugin.getPlatformScheduler();
+        
+        CompletableFuture<CropRegistry> future = new CompletableFuture<>();
+        scheduler.runAsync(() -> {
+            List<CropTypeDefinition> definitions;
+            try {
+                definitions = parseCropTypes(cropsConfig);
+            } catch (Exception e) {
+                MessageUtil.error("Error reloading crop types: " + e.getMessage());
+                future.completeExceptionally(e);
+                return;
+            }
+            
+            scheduler.runGlobal(() -> {
+                try {
+                    long version = registry.getVersion() + 1;
+                    CropRegistry compiled = compileRegistry(definitions, version);
+                    registry = compiled;
+                    rescheduleAllCrops();
+                    MessageUtil.info("Reloaded " + compiled.size() + " crop types (version " + version + ")");
+                    future.complete(compiled);
+                } catch (Exception e) {
+                    MessageUtil.error("Error reloading crop types: " + e.getMessage());
+                    future.completeExceptionally(e);
+                }
+            });
+        });
+        return future;
+    }
+    
+    /**
+     * Reschedules every loaded crop, one chunk at a time on the thread owning it
+     */
+    private void rescheduleAllCrops() {
+        PlatformScheduler scheduler = plugin.getPlatformScheduler();
+        for (UUID worldId : cropIndex.getWorldIds()) {
+            World world = plugin.getServer().getWorld(worldId);
+            if (world == null) continue;
+            
+            for (CropChunk chunk : cropIndex.getChunks(worldId)) {
+                scheduler.runAtChunk(world, chunk.getChunkX(), chunk.getChunkZ(), () -> {
+                    for (Crop crop : chunk.getCrops()) {
+                        cropScheduler.schedule(crop);
+                    }
+                });
+            }
+        }
     }
     
-    private CropType loadCropType(String id, ConfigurationSection section) {
+    private CropTypeDefinition parseCropType(String id, ConfigurationSection section) {
         String name = section.getString("name", id);
         String category = section.getString("category", "Default");
         int duration = section.getInt("duration", 3600);
@@ -80,16 +201,52 @@ public class CropManager {
             }
         }
         
-        return new CropType(id, name, category, duration, sustainable, plantMaterial, 
-                          harvestMaterial, seedMaterial, requiredLevel, permission, drops);
+        return new CropTypeDefinition(id, name, category, duration, sustainable, plantMaterial,
+                                      harvestMaterial, seedMaterial, requiredLevel, permission, drops);
+    }
+    
+    /**
+     * Creates one block data per growth stage of an ageable plant, indexed by age
+     */
+    private static BlockData[] createStageData(Material plantMaterial) {
+        BlockData blockData = plantMaterial.createBlockData();
+        if (!(blockData instanceof Ageable ageable)) {
+            return new BlockData[0];
+        }
+        
+        BlockData[] stageData = new BlockData[ageable.getMaximumAge() + 1];
+        for (int age = 0; age < stageData.length; age++) {
+            Ageable stage = (Ageable) blockData.clone();
+            stage.setAge(age);
+            stageData[age] = stage;
+        }
+        return stageData;
     }
     
     public Collection<CropType> getCropTypes() {
-        return cropTypes.values();
+        return registry.getAll();
     }
     
     public CropType getCropType(String id) {
-        return cropTypes.get(id);
+        return registry.get(id);
+    }
+    
+    /**
+     * Gets a crop type by its numeric id, see {@link Crop#getCropTypeId()}
+     */
+    public CropType getCropType(int id) {
+        return registry.get(id);
+    }
+    
+    /**
+     * Gets the crop type planted with the given seed, or null if none is
+     */
+    public CropType getCropTypeBySeed(Material seedMaterial) {
+        return registry.getBySeed(seedMaterial);
+    }
+    
+    public CropRegistry getRegistry() {
+        return registry;
     }
     
     public boolean canPlantCrop(Player player, String cropTypeId) {
@@ -126,7 +283,11 @@ public class CropManager {
         if (cropType == null) return false;
         
         // Check if location is already occupied
-        if (locationToCrop.containsKey(location)) {
+        if (cropIndex.get(location) != null) {
+            return false;
+        }
+        
+        if (!hasRoomFor(location)) {
             return false;
         }
         
@@ -142,38 +303,61 @@ public class CropManager {
         
         // Apply Green Thumb ability (faster growth)
         long duration = cropType.getDuration();
-        double greenThumbModifier = plugin.getAbilityManager().getEffectValue(herbalismPlayer, "green_thumb");
+        double greenThumbModifier = plugin.getAbilityManager().getSnapshot(herbalismPlayer).getGrowthModifier();
         if (greenThumbModifier > 0) {
             duration = (long) (duration * greenThumbModifier);
         }
         
-        // Create and plant the crop
+        // Create and register the crop
         Crop crop = new Crop(cropTypeId, player.getUniqueId(), player.getName(), location, duration);
+        if (!cropIndex.add(crop)) {
+            return false;
+        }
+        cropScheduler.schedule(crop);
         
         // Set the block to the plant material
         Block plantBlock = block.getRelative(0, 1, 0);
         plantBlock.setType(cropType.getPlantMaterial());
         
-        // Register the crop
-        crops.put(crop.getId(), crop);
-        locationToCrop.put(location, crop);
-        
         // Update player crop count
-        playerCrops.computeIfAbsent(player.getUniqueId(), k -> new HashSet<>()).add(crop.getId());
+        ownerIndex.add(crop);
         
         // Update player statistics
         herbalismPlayer.addCropPlanted();
-        herbalismPlayer.setActiveCrops(herbalismPlayer.getActiveCrops() + 1);
         
         // Handle planting abilities
         plugin.getAbilityManager().handleCropPlanting(herbalismPlayer, crop);
         
+        plugin.getDatabaseManager().saveCrop(crop);
+        eventBus.publish(CropEvent.Type.PLANTED, crop, player.getUniqueId());
+        
         MessageUtil.debug("Player " + player.getName() + " planted " + cropTypeId + " at " + location);
         return true;
     }
     
+    /**
+     * Checks the per-chunk and per-world crop caps for a new crop at the location.
+     * The world cap counts the crops in loaded chunks.
+     */
+    public boolean hasRoomFor(Location location) {
+        World world = location.getWorld();
+        if (world == null) return false;
+        
+        int maxPerChunk = plugin.getConfigManager().getMaxCropsPerChunk();
+        if (maxPerChunk > 0 && cropIndex.getChunkSize(world.getUID(),
+                location.getBlockX() >> 4, location.getBlockZ() >> 4) >= maxPerChunk) {
+            return false;
+        }
+        
+        int maxPerWorld = plugin.getConfigManager().getMaxCropsPerWorld();
+        return maxPerWorld <= 0 || cropIndex.getWorldSize(world.getUID()) < maxPerWorld;
+    }
+    
     public boolean harvestCrop(Player player, Location location) {
-        Crop crop = locationToCrop.get(location);
+        return harvestCrop(player, cropIndex.get(location));
+    }
+    
+    public boolean harvestCrop(Player player, Crop crop) {
         if (crop == null) return false;
         
         // Check if player is the owner
@@ -191,103 +375,188 @@ public class CropManager {
     }
     
     private boolean performHarvest(Crop crop, Player player) {
-        CropType cropType = getCropType(crop.getCropType());
-        if (cropType == null) return false;
+        HarvestBatch batch = new HarvestBatch(player);
+        if (!harvestInto(crop, batch)) return false;
         
-        // Calculate drops
-        List<ItemStack> drops = calculateDrops(cropType, player);
+        completeHarvest(batch);
+        MessageUtil.debug("Player " + player.getName() + " harvested " + crop.getCropType());
+        return true;
+    }
+    
+    /**
+     * Harvests every ready crop of the player within the radius around the center.
+     * Each chunk is harvested on the thread owning it, at most maxPerTick crops per chunk
+     * and tick. Drops, statistics and database changes are collected per chunk and applied
+     * once on the player's thread after the whole area is done.
+     *
+     * @return a future completed with the number of harvested crops
+     */
+    public CompletableFuture<Integer> harvestArea(Player player, Location center, int radius, int maxPerTick) {
+        CompletableFuture<Integer> future = new CompletableFuture<>();
+        if (center.getWorld() == null) {
+            future.complete(0);
+            return future;
+        }
         
-        // Give drops to player
-        for (ItemStack drop : drops) {
-            player.getInventory().addItem(drop);
+        World world = center.getWorld();
+        Map<Long, List<Crop>> candidates = new HashMap<>();
+        for (Crop crop : cropIndex.getCropsInRadius(world.getUID(), center.getBlockX(), center.getBlockZ(), radius)) {
+            if (crop.isOwner(player) && crop.isReadyForHarvest()) {
+                candidates.computeIfAbsent(CropIndex.chunkKey(crop.getChunkX(), crop.getChunkZ()), k -> new ArrayList<>())
+                        .add(crop);
+            }
+        }
+        
+        if (candidates.isEmpty()) {
+            future.complete(0);
+            return future;
+        }
+        
+        PlatformScheduler scheduler = plugin.getPlatformScheduler();
+        HarvestBatch total = new HarvestBatch(player);
+        HarvestBatch[] chunkBatches = new HarvestBatch[candidates.size()];
+        AtomicInteger remaining = new AtomicInteger(candidates.size());
+        int index = 0;
+        
+        for (Map.Entry<Long, List<Crop>> entry : candidates.entrySet()) {
+            HarvestBatch batch = total.forChunk();
+            chunkBatches[index++] = batch;
+            int chunkX = CropIndex.chunkX(entry.getKey());
+            int chunkZ = CropIndex.chunkZ(entry.getKey());
+            Location chunkLocation = new Location(world, chunkX << 4, center.getBlockY(), chunkZ << 4);
+            Iterator<Crop> iterator = entry.getValue().iterator();
+            
+            Runnable slice = new Runnable() {
+                @Override
+                public void run() {
+                    int processed = 0;
+                    while (iterator.hasNext() && (maxPerTick <= 0 || processed < maxPerTick)) {
+                        harvestInto(iterator.next(), batch);
+                        processed++;
+                    }
+                    
+                    if (iterator.hasNext() && player.isOnline()) {
+                        scheduler.runAtLocationLater(chunkLocation, this, 1L);
+                        return;
+                    }
+                    
+                    // The last chunk to finish hands the merged batches to the player's thread
+                    if (remaining.decrementAndGet() == 0) {
+                        scheduler.runForEntity(player, () -> {
+                            for (HarvestBatch chunkBatch : chunkBatches) {
+                                total.addAll(chunkBatch);
+                            }
+                            completeHarvest(total);
+                            MessageUtil.debug("Player " + player.getName() + " area harvested " + total.harvested + " crops");
+                            future.complete(total.harvested);
+                        }, 1L);
+                    }
+                }
+            };
+            scheduler.runAtChunk(world, chunkX, chunkZ, slice);
         }
+        return future;
+    }
+    
+    /**
+     * Harvests a single crop into the batch. Must run on the thread owning the crop's chunk.
+     *
+     * @return false if the crop could not be harvested
+     */
+    private boolean harvestInto(Crop crop, HarvestBatch batch) {
+        if (crop.isHarvested() || cropIndex.get(crop.getWorldId(), crop.getBlockX(), crop.getBlockY(), crop.getBlockZ()) != crop) {
+            return false;
+        }
+        
+        CropType cropType = getCropType(crop.getCropTypeId());
+        if (cropType == null) return false;
+        
+        // Calculate drops
+        batch.rollDrops(cropType);
         
         // Update crop state
         crop.setHarvested(true);
         
-        // Remove from location mapping
-        locationToCrop.remove(crop.getLocation());
+        // Remove from the index
+        cropIndex.remove(crop);
+        cropScheduler.unschedule(crop);
+        batch.deletes.add(crop.getId());
+        ownerIndex.remove(crop);
+        eventBus.publish(CropEvent.Type.HARVESTED, crop, batch.player.getUniqueId());
         
         // Handle sustainable crops
         if (cropType.isSustainable()) {
-            // Replant the crop
+            // Replant the crop and reset the plant to its first stage
+            if (cropType.getMaxAge() > 0) {
+                Block plantBlock = crop.getPlantBlock();
+                if (plantBlock != null && plantBlock.getType() == cropType.getPlantMaterial()) {
+                    plantBlock.setBlockData(cropType.getStageData(0), false);
+                }
+            }
             Crop newCrop = new Crop(crop.getCropType(), crop.getOwnerId(), crop.getOwnerName(), 
                                    crop.getLocation(), cropType.getDuration());
-            crops.put(newCrop.getId(), newCrop);
-            locationToCrop.put(crop.getLocation(), newCrop);
-            
-            // Update player crop mapping
-            Set<UUID> playerCropSet = playerCrops.get(crop.getOwnerId());
-            if (playerCropSet != null) {
-                playerCropSet.remove(crop.getId());
-                playerCropSet.add(newCrop.getId());
+            if (cropIndex.add(newCrop)) {
+                cropScheduler.schedule(newCrop);
+                ownerIndex.add(newCrop);
+                batch.saves.add(newCrop);
+                eventBus.publish(CropEvent.Type.PLANTED, newCrop, batch.player.getUniqueId());
             }
         } else {
             // Remove the crop completely
             crop.remove();
-            
-            // Update player crop count
-            Set<UUID> playerCropSet = playerCrops.get(crop.getOwnerId());
-            if (playerCropSet != null) {
-                playerCropSet.remove(crop.getId());
-            }
-            
-            // Update player statistics
-            HerbalismPlayer herbalismPlayer = plugin.getPlayerManager().getPlayer(crop.getOwnerId());
-            if (herbalismPlayer != null) {
-                herbalismPlayer.setActiveCrops(herbalismPlayer.getActiveCrops() - 1);
-            }
-        }
-        
-        // Update player statistics
-        HerbalismPlayer herbalismPlayer = plugin.getPlayerManager().getPlayer(player);
-        if (herbalismPlayer != null) {
-            herbalismPlayer.addHarvest();
-            
-            // Add experience
-            long expGained = cropType.getDuration() / 10; // 1 exp per 10 seconds of growth time
-            herbalismPlayer.addExperience(expGained);
-            
-            // Handle harvesting abilities
-            plugin.getAbilityManager().handleCropHarvesting(herbalismPlayer, crop);
         }
         
-        MessageUtil.debug("Player " + player.getName() + " harvested " + crop.getCropType());
+        batch.harvested++;
+        batch.experience += cropType.getDuration() / 10; // 1 exp per 10 seconds of growth time
+        batch.lastCrop = crop;
         return true;
     }
     
-    private List<ItemStack> calculateDrops(CropType cropType, Player player) {
-        List<ItemStack> drops = new ArrayList<>();
+    /**
+     * Hands out the collected drops and applies statistics and database changes once.
+     * Drops of a player who logged out during an area harvest are dropped where the
+     * last crop was harvested, on the thread owning that spot.
+     */
+    private void completeHarvest(HarvestBatch batch) {
+        if (batch.harvested == 0) return;
         
-        HerbalismPlayer herbalismPlayer = plugin.getPlayerManager().getPlayer(player);
-        
-        // Get ability modifiers
-        double agriculturistMultiplier = herbalismPlayer != null ? 
-            plugin.getAbilityManager().getEffectValue(herbalismPlayer, "agriculturist") : 1.0;
-        double farmersLuckChance = herbalismPlayer != null ? 
-            plugin.getAbilityManager().getChance(herbalismPlayer, "farmers_luck") : 0.0;
-        
-        for (DropItem dropItem : cropType.getDrops()) {
-            // Calculate base drops with agriculturist multiplier
-            if (Math.random() * 100 < dropItem.getChance()) {
-                int amount = dropItem.getAmount();
-                if (agriculturistMultiplier > 1.0) {
-                    amount = (int) (amount * agriculturistMultiplier);
-                }
-                drops.add(new ItemStack(dropItem.getMaterial(), amount));
+        Player player = batch.player;
+        List<ItemStack> stacks = batch.drops.toItemStacks();
+        if (!stacks.isEmpty() && player.isOnline()) {
+            // Whatever does not fit is dropped at the player's feet
+            Map<Integer, ItemStack> leftovers = player.getInventory().addItem(stacks.toArray(new ItemStack[0]));
+            for (ItemStack leftover : leftovers.values()) {
+                player.getWorld().dropItemNaturally(player.getLocation(), leftover);
             }
-            
-            // Calculate bonus drops with Farmer's Luck ability
-            if (farmersLuckChance > 0 && Math.random() < farmersLuckChance) {
-                drops.add(new ItemStack(dropItem.getMaterial(), dropItem.getAmount()));
+        } else if (!stacks.isEmpty()) {
+            Location location = batch.lastCrop.getLocation().add(0.5, 1.0, 0.5);
+            World world = location.getWorld();
+            if (world != null) {
+                plugin.getPlatformScheduler().runAtLocation(location, () -> {
+                    for (ItemStack stack : stacks) {
+                        world.dropItemNaturally(location, stack);
+                    }
+                });
             }
         }
         
-        return drops;
+        HerbalismPlayer herbalismPlayer = plugin.getPlayerManager().getPlayer(player.getUniqueId());
+        if (herbalismPlayer != null) {
+            herbalismPlayer.addHarvests(batch.harvested);
+            herbalismPlayer.addExperience(batch.experience);
+            
+            // Handle harvesting abilities
+            plugin.getAbilityManager().handleCropHarvesting(herbalismPlayer, batch.lastCrop);
+        }
+        
+        plugin.getDatabaseManager().applyCropChanges(batch.saves, batch.deletes);
     }
     
     public boolean breakCrop(Player player, Location location) {
-        Crop crop = locationToCrop.get(location);
+        return breakCrop(player, cropIndex.get(location));
+    }
+    
+    public boolean breakCrop(Player player, Crop crop) {
         if (crop == null) return false;
         
         // Check if player is the owner or has permission
@@ -296,95 +565,414 @@ public class CropManager {
         }
         
         // Remove the crop
-        removeCrop(crop);
+        removeCrop(crop, CropEvent.Type.REMOVED, player.getUniqueId());
         return true;
     }
     
-    private void removeCrop(Crop crop) {
-        crops.remove(crop.getId());
-        locationToCrop.remove(crop.getLocation());
-        
-        Set<UUID> playerCropSet = playerCrops.get(crop.getOwnerId());
-        if (playerCropSet != null) {
-            playerCropSet.remove(crop.getId());
-        }
-        
-        // Update player statistics
-        HerbalismPlayer herbalismPlayer = plugin.getPlayerManager().getPlayer(crop.getOwnerId());
-        if (herbalismPlayer != null) {
-            herbalismPlayer.setActiveCrops(herbalismPlayer.getActiveCrops() - 1);
-        }
+    private void removeCrop(Crop crop, CropEvent.Type reason, UUID playerId) {
+        cropIndex.remove(crop);
+        cropScheduler.unschedule(crop);
+        plugin.getDatabaseManager().deleteCrop(crop.getId());
+        ownerIndex.remove(crop);
+        eventBus.publish(reason, crop, playerId);
         
         crop.remove();
     }
     
+    /**
+     * Computes the transitions of every crop whose next state change (growth stage,
+     * readiness or decay) is due. Runs off the main thread; the resulting mutations
+     * are applied by {@link #processCropUpdates()}.
+     */
     public void updateCrops() {
-        Iterator<Crop> iterator = crops.values().iterator();
-        while (iterator.hasNext()) {
-            Crop crop = iterator.next();
+        updateWorker.update();
+    }
+    
+    /**
+     * Feeds the server's average tick time to the lag guard. Called periodically.
+     */
+    public void checkLag() {
+        LagGuard guard = lagGuard;
+        if (guard == null) return;
+        
+        try {
+            guard.update(plugin.getServer().getAverageTickTime(), TimeUtil.getCurrentTimeMillis());
+        } catch (UnsupportedOperationException e) {
+            // Region-threaded servers have no single tick time
+            MessageUtil.warn("Average tick time is not available on this server, disabling the crop lag guard");
+            lagGuard = null;
+            cropScheduler.setLagGuard(null);
+        }
+    }
+    
+    public LagGuard getLagGuard() {
+        return lagGuard;
+    }
+    
+    /**
+     * Applies queued crop mutations within the configured per-tick time budget.
+     * Called every tick; whatever does not fit is continued on the next tick.
+     */
+    public void processCropUpdates() {
+        if (updateQueue.isEmpty()) return;
+        
+        long budgetNanos = plugin.getConfigManager().getCropTickBudgetMicros() * 1000L;
+        long now = TimeUtil.getCurrentTimeMillis();
+        PlatformScheduler scheduler = plugin.getPlatformScheduler();
+        
+        if (!scheduler.isRegionThreaded()) {
+            CropBlockWriter writer = new CropBlockWriter(plugin.getServer());
+            updateQueue.process(budgetNanos, now, mutation -> applyMutation(mutation, writer));
+            flushBlockUpdates(writer);
+            return;
+        }
+        
+        // Hand each chunk's mutations to the region owning it
+        Map<UUID, Map<Long, List<CropMutation>>> batches = new HashMap<>();
+        updateQueue.process(budgetNanos, now, mutation -> {
+            Crop crop = mutation.getCrop();
+            batches.computeIfAbsent(crop.getWorldId(), k -> new HashMap<>())
+                    .computeIfAbsent(CropIndex.chunkKey(crop.getChunkX(), crop.getChunkZ()), k -> new ArrayList<>())
+                    .add(mutation);
+        });
+        
+        for (Map.Entry<UUID, Map<Long, List<CropMutation>>> worldBatch : batches.entrySet()) {
+            World world = plugin.getServer().getWorld(worldBatch.getKey());
+            if (world == null) continue;
             
-            // Check if crop should decay
-            if (crop.isDecayTime()) {
-                crop.setDecayed(true);
-                removeCrop(crop);
-                iterator.remove();
-                continue;
+            for (Map.Entry<Long, List<CropMutation>> batch : worldBatch.getValue().entrySet()) {
+                long chunkKey = batch.getKey();
+                scheduler.runAtChunk(world, CropIndex.chunkX(chunkKey), CropIndex.chunkZ(chunkKey), () -> {
+                    CropBlockWriter writer = new CropBlockWriter(plugin.getServer());
+                    for (CropMutation mutation : batch.getValue()) {
+                        applyMutation(mutation, writer);
+                    }
+                    flushBlockUpdates(writer);
+                });
             }
-            
-            // Update visual state
-            crop.updateBlockState();
         }
     }
     
-    public Crop getCrop(UUID id) {
-        return crops.get(id);
+    private void applyMutation(CropMutation mutation, CropBlockWriter writer) {
+        Crop crop = mutation.getCrop();
+        
+        // Skip crops that were harvested or removed while queued
+        if (cropIndex.getById(crop.getId()) != crop) {
+            return;
+        }
+        
+        // Never load a chunk for a crop update; the crop catches up when its chunk loads
+        World world = crop.getWorld();
+        if (world == null || !world.isChunkLoaded(crop.getChunkX(), crop.getChunkZ())) {
+            return;
+        }
+        
+        updateCrop(crop, writer);
+        if (mutation.getType() == CropMutation.Type.READY && !crop.isDecayed()) {
+            eventBus.publish(CropEvent.Type.READY, crop, null);
+        }
+    }
+    
+    /**
+     * Updates all crops of a single chunk, regardless of their schedule.
+     * Must run on the thread owning the chunk.
+     */
+    public void updateChunk(CropChunk chunk) {
+        CropBlockWriter writer = new CropBlockWriter(plugin.getServer());
+        for (Crop crop : chunk.getCrops()) {
+            updateCrop(crop, writer);
+        }
+        flushBlockUpdates(writer);
+    }
+    
+    private void flushBlockUpdates(CropBlockWriter writer) {
+        writer.flush(crop -> {
+            // The plant block was removed or replaced, so the crop is gone
+            crop.setDecayed(true);
+            removeCrop(crop, CropEvent.Type.REMOVED, null);
+        }, crop -> eventBus.publish(CropEvent.Type.STAGE_CHANGED, crop, null));
+    }
+    
+    private void updateCrop(Crop crop, CropBlockWriter writer) {
+        // Check if crop should decay
+        if (crop.isDecayTime()) {
+            crop.setDecayed(true);
+            removeCrop(crop, CropEvent.Type.DECAYED, null);
+            return;
+        }
+        
+        // Queue the visual update and wait for the next transition
+        crop.updateBlockState(writer);
+        cropScheduler.schedule(crop);
+    }
+    
+    public Crop getCrop(long id) {
+        return cropIndex.getById(id);
     }
     
     public Crop getCropAtLocation(Location location) {
-        return locationToCrop.get(location);
+        return cropIndex.get(location);
+    }
+    
+    public Crop getCropAt(Block block) {
+        return cropIndex.get(block);
+    }
+    
+    public Crop getCropAt(World world, int x, int y, int z) {
+        return cropIndex.get(world, x, y, z);
+    }
+    
+    public CropIndex getCropIndex() {
+        return cropIndex;
+    }
+    
+    /**
+     * Gets the bus publishing crop lifecycle events, for listeners that react to
+     * crops instead of polling them
+     */
+    public CropEventBus getEventBus() {
+        return eventBus;
+    }
+    
+    public CropScheduler getCropScheduler() {
+        return cropScheduler;
+    }
+    
+    /**
+     * Gets crop update statistics, including how far behind the update queue is
+     */
+    public Map<String, Object> getStats() {
+        long now = TimeUtil.getCurrentTimeMillis();
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("crops", cropIndex.size());
+        stats.put("scheduledCrops", cropScheduler.size());
+        stats.put("pendingUpdates", updateQueue.size());
+        stats.put("oldestPendingMillis", updateQueue.getOldestPendingAge(now));
+        stats.put("averageStalenessMillis", updateQueue.getAverageStalenessMillis());
+        stats.put("maxStalenessMillis", updateQueue.getMaxStalenessMillis());
+        stats.put("processedUpdates", updateQueue.getProcessedTotal());
+        stats.put("rejectedUpdates", updateQueue.getRejectedTotal());
+        stats.put("workerRunning", updateWorker.isRunning());
+        stats.put("lastSliceUpdates", updateQueue.getProcessedLastSlice());
+        stats.put("lastSliceMicros", updateQueue.getLastSliceMicros());
+        if (unloadedCrops != null) {
+            stats.put("compactCrops", unloadedCrops.size());
+            stats.put("compactBytes", unloadedCrops.getMemoryUsage());
+        }
+        LagGuard guard = lagGuard;
+        if (guard != null) {
+            stats.put("lagGuardActive", guard.isActive());
+            stats.put("lagGuardMspt", guard.getLastMspt());
+        }
+        return stats;
     }
     
     public Collection<Crop> getAllCrops() {
-        return crops.values();
+        return cropIndex.getAllCrops();
     }
     
+    /**
+     * Gets the loaded crops of a player, ordered by harvest time
+     */
     public Collection<Crop> getPlayerCrops(UUID playerId) {
-        Set<UUID> cropIds = playerCrops.get(playerId);
-        if (cropIds == null) return Collections.emptyList();
-        
-        return cropIds.stream()
-                .map(crops::get)
-                .filter(Objects::nonNull)
-                .toList();
+        return ownerIndex.getLoadedCrops(playerId);
+    }
+    
+    public int getLoadedPlayerCropCount(UUID playerId) {
+        return ownerIndex.getLoadedCount(playerId);
+    }
+    
+    /**
+     * Gets the loaded crops of a player that are ready for harvest, ordered by harvest time
+     */
+    public Collection<Crop> getReadyPlayerCrops(UUID playerId) {
+        return ownerIndex.getReadyCrops(playerId, TimeUtil.getCurrentTimeMillis());
     }
     
+    /**
+     * Gets the number of crops a player has, including crops in unloaded chunks
+     */
     public int getPlayerCropCount(UUID playerId) {
-        Set<UUID> cropIds = playerCrops.get(playerId);
-        return cropIds != null ? cropIds.size() : 0;
+        return ownerIndex.getCount(playerId);
+    }
+    
+    /**
+     * Loads how many crops each player has from the database, replacing the current counts.
+     * Blocks until the query is done, so it must run at startup before listeners are
+     * registered and chunks are loaded; later plants and removals then count on top of it.
+     */
+    public void loadCropCounts() throws Exception {
+        DatabaseManager databaseManager = plugin.getDatabaseManager();
+        if (databaseManager == null || !databaseManager.isInitialized()) return;
+        
+        Map<UUID, Integer> counts = databaseManager.countCropsByOwner().get();
+        ownerIndex.setCounts(counts);
+        MessageUtil.debug("Loaded crop counts of " + counts.size() + " players");
+    }
+    
+    /**
+     * Loads the crops of a chunk from the database. The query runs asynchronously and
+     * the crops are registered on the thread owning the chunk, if it is still loaded.
+     * Crops kept in the compact store since the chunk unloaded are restored without a query.
+     * Plants of crops removed while the chunk was unloaded are cleared first.
+     * The query runs after every crop write submitted before it, so it sees the rows
+     * saved when the chunk unloaded and no crops deleted since.
+     */
+    public void loadChunk(World world, int chunkX, int chunkZ) {
+        if (hasPendingRemovals(world.getUID(), chunkX, chunkZ)) {
+            plugin.getPlatformScheduler().runAtChunk(world, chunkX, chunkZ, () -> {
+                if (world.isChunkLoaded(chunkX, chunkZ)) {
+                    applyPendingRemovals(world, chunkX, chunkZ);
+                }
+            });
+        }
+        
+        if (unloadedCrops != null && unloadedCrops.hasChunk(world.getUID(), chunkX, chunkZ)) {
+            plugin.getPlatformScheduler().runAtChunk(world, chunkX, chunkZ, () -> {
+                if (!world.isChunkLoaded(chunkX, chunkZ)) return;
+                
+                registerLoadedCrops(unloadedCrops.takeChunk(world.getUID(), chunkX, chunkZ));
+            });
+            return;
+        }
+        
+        DatabaseManager databaseManager = plugin.getDatabaseManager();
+        if (databaseManager == null || !databaseManager.isInitialized()) return;
+        
+        databaseManager.loadCropsInChunk(world.getName(), chunkX, chunkZ).thenAccept(crops -> {
+            if (crops.isEmpty()) return;
+            
+            plugin.getPlatformScheduler().runAtChunk(world, chunkX, chunkZ, () -> {
+                if (!world.isChunkLoaded(chunkX, chunkZ)) return;
+                
+                int loaded = registerLoadedCrops(crops);
+                MessageUtil.debug("Loaded " + loaded + " crops in chunk " + chunkX + "," + chunkZ + " of " + world.getName());
+            });
+        });
+    }
+    
+    /**
+     * Registers the crops of a chunk that just loaded and brings their plant blocks
+     * up to date with the time that passed while the chunk was unloaded.
+     * Must run on the thread owning the chunk.
+     *
+     * @return the number of crops registered
+     */
+    private int registerLoadedCrops(List<Crop> crops) {
+        CropBlockWriter writer = new CropBlockWriter(plugin.getServer());
+        int loaded = 0;
+        for (Crop crop : crops) {
+            if (!cropIndex.add(crop)) continue;
+            
+            ownerIndex.load(crop);
+            plugin.getFertilizerManager().trackEffect(crop);
+            updateCrop(crop, writer);
+            loaded++;
+        }
+        flushBlockUpdates(writer);
+        return loaded;
+    }
+    
+    /**
+     * Remembers that a crop's plant block must be cleared once its chunk loads,
+     * instead of loading the chunk just for that
+     */
+    public void queueRemoval(Crop crop) {
+        CropType cropType = getCropType(crop.getCropTypeId());
+        pendingRemovals.computeIfAbsent(crop.getWorldId(), k -> new ConcurrentHashMap<>())
+                .computeIfAbsent(CropIndex.chunkKey(crop.getChunkX(), crop.getChunkZ()), k -> new ConcurrentLinkedQueue<>())
+                .add(new PendingRemoval(crop.getBlockX(), crop.getBlockY() + 1, crop.getBlockZ(),
+                        cropType != null ? cropType.getPlantMaterial() : null));
+    }
+    
+    private boolean hasPendingRemovals(UUID worldId, int chunkX, int chunkZ) {
+        Map<Long, Queue<PendingRemoval>> worldRemovals = pendingRemovals.get(worldId);
+        return worldRemovals != null && worldRemovals.containsKey(CropIndex.chunkKey(chunkX, chunkZ));
+    }
+    
+    private void applyPendingRemovals(World world, int chunkX, int chunkZ) {
+        Map<Long, Queue<PendingRemoval>> worldRemovals = pendingRemovals.get(world.getUID());
+        if (worldRemovals == null) return;
+        
+        Queue<PendingRemoval> removals = worldRemovals.remove(CropIndex.chunkKey(chunkX, chunkZ));
+        if (removals == null) return;
+        
+        for (PendingRemoval removal : removals) {
+            Block block = world.getBlockAt(removal.x, removal.y, removal.z);
+            // Leave blocks alone that replaced the plant in the meantime
+            if (block.getType() != Material.AIR
+                    && (removal.plantMaterial == null || block.getType() == removal.plantMaterial)) {
+                block.setType(Material.AIR);
+            }
+        }
+        MessageUtil.debug("Cleared " + removals.size() + " removed crops in chunk " + chunkX + "," + chunkZ + " of " + world.getName());
+    }
+    
+    /**
+     * Writes the crops of a chunk back to the database and evicts them from memory.
+     * In compact mode they are kept in the compact store until the chunk loads again.
+     */
+    public void unloadChunk(World world, int chunkX, int chunkZ) {
+        List<Crop> crops = cropIndex.getCropsInChunk(world.getUID(), chunkX, chunkZ);
+        if (crops.isEmpty()) return;
+        
+        for (Crop crop : crops) {
+            cropIndex.remove(crop);
+            cropScheduler.unschedule(crop);
+            ownerIndex.unload(crop);
+            eventBus.publish(CropEvent.Type.UNLOADED, crop, null);
+        }
+        
+        plugin.getDatabaseManager().saveCrops(crops);
+        if (unloadedCrops != null) {
+            unloadedCrops.addAll(crops);
+        }
+        MessageUtil.debug("Unloaded " + crops.size() + " crops in chunk " + chunkX + "," + chunkZ + " of " + world.getName());
     }
     
-    public void saveAllCrops() {
-        // TODO: Implement database saving
-        MessageUtil.debug("Saved " + crops.size() + " crops to database");
+    /**
+     * Loads the crops of every chunk that is already loaded, e.g. after a restart or reload
+     */
+    public void loadLoadedChunks() {
+        for (World world : plugin.getServer().getWorlds()) {
+            for (Chunk chunk : world.getLoadedChunks()) {
+                loadChunk(world, chunk.getX(), chunk.getZ());
+            }
+        }
     }
     
-    public void loadAllCrops() {
-        // TODO: Implement database loading
-        MessageUtil.debug("Loaded crops from database");
+    /**
+     * Saves every crop that is currently in memory
+     */
+    public CompletableFuture<Boolean> saveAllCrops() {
+        List<Crop> crops = new ArrayList<>(cropIndex.getAllCrops());
+        MessageUtil.debug("Saving " + crops.size() + " crops to database");
+        return plugin.getDatabaseManager().saveCrops(crops);
     }
     
     public void shutdown() {
         MessageUtil.info("Shutting down CropManager...");
-        saveAllCrops();
-        crops.clear();
-        locationToCrop.clear();
-        playerCrops.clear();
+        try {
+            saveAllCrops().get(30, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            MessageUtil.error("Error saving crops: " + e.getMessage());
+        }
+        updateWorker.shutdown();
+        eventBus.shutdown();
+        updateQueue.clear();
+        cropScheduler.clear();
+        cropIndex.clear();
+        if (unloadedCrops != null) {
+            unloadedCrops.clear();
+        }
+        ownerIndex.clear();
         MessageUtil.info("CropManager shutdown complete!");
     }
     
     // Inner classes for crop configuration
     public static class CropType {
         private final String id;
+        private final int numericId;
         private final String name;
         private final String category;
         private final int duration;
@@ -395,11 +983,16 @@ public class CropManager {
         private final int requiredLevel;
         private final String permission;
         private final List<DropItem> drops;
+        private final DropTable dropTable;
+        private final int maxAge;
+        private final BlockData[] stageData;
+        private final long[] stageOffsets;
         
         public CropType(String id, String name, String category, int duration, boolean sustainable,
                        Material plantMaterial, Material harvestMaterial, Material seedMaterial,
-                       int requiredLevel, String permission, List<DropItem> drops) {
+                       int requiredLevel, String permission, List<DropItem> drops, BlockData[] stageData) {
             this.id = id;
+            this.numericId = CropRegistry.idOf(id);
             this.name = name;
             this.category = category;
             this.duration = duration;
@@ -410,9 +1003,24 @@ public class CropManager {
             this.requiredLevel = requiredLevel;
             this.permission = permission;
             this.drops = drops;
+            this.dropTable = DropTable.compile(drops);
+            this.stageData = stageData;
+            this.maxAge = Math.max(0, stageData.length - 1);
+            
+            // Offsets from planting at which each stage starts, for the unmodified duration
+            this.stageOffsets = new long[maxAge + 1];
+            for (int stage = 0; stage <= maxAge; stage++) {
+                stageOffsets[stage] = computeStageOffset(stage, duration * 1000L, maxAge);
+            }
+        }
+        
+        private static long computeStageOffset(int stage, long durationMillis, int maxAge) {
+            // First instant at which elapsed * maxAge / duration reaches the stage
+            return (stage * durationMillis + maxAge - 1) / maxAge;
         }
         
         public String getId() { return id; }
+        public int getNumericId() { return numericId; }
         public String getName() { return name; }
         public String getCategory() { return category; }
         public int getDuration() { return duration; }
@@ -423,6 +1031,150 @@ public class CropManager {
         public int getRequiredLevel() { return requiredLevel; }
         public String getPermission() { return permission; }
         public List<DropItem> getDrops() { return drops; }
+        public DropTable getDropTable() { return dropTable; }
+        public int getMaxAge() { return maxAge; }
+        
+        /**
+         * Gets the cached block data for a growth stage. Must not be modified.
+         */
+        public BlockData getStageData(int stage) {
+            return stageData[Math.max(0, Math.min(maxAge, stage))];
+        }
+        
+        /**
+         * Gets the time after planting at which a stage starts for a crop growing for the given duration
+         */
+        public long getStageOffset(int stage, long durationMillis) {
+            if (stage <= 0 || maxAge <= 0) return 0;
+            if (stage >= maxAge) return durationMillis;
+            if (durationMillis == duration * 1000L) return stageOffsets[stage];
+            return computeStageOffset(stage, durationMillis, maxAge);
+        }
+        
+        /**
+         * Gets the stage a crop growing for the given duration has reached after the elapsed time
+         */
+        public int getStageAt(long elapsedMillis, long durationMillis) {
+            if (maxAge <= 0 || elapsedMillis <= 0) return 0;
+            if (durationMillis <= 0 || elapsedMillis >= durationMillis) return maxAge;
+            return (int) (elapsedMillis * maxAge / durationMillis);
+        }
+    }
+    
+    /**
+     * A crop type as read from the configuration, before its block data is created
+     */
+    private static final class CropTypeDefinition {
+        private final String id;
+        private final String name;
+        private final String category;
+        private final int duration;
+        private final boolean sustainable;
+        private final Material plantMaterial;
+        private final Material harvestMaterial;
+        private final Material seedMaterial;
+        private final int requiredLevel;
+        private final String permission;
+        private final List<DropItem> drops;
+        
+        private CropTypeDefinition(String id, String name, String category, int duration, boolean sustainable,
+                                   Material plantMaterial, Material harvestMaterial, Material seedMaterial,
+                                   int requiredLevel, String permission, List<DropItem> drops) {
+            this.id = id;
+            this.name = name;
+            this.category = category;
+            this.duration = duration;
+            this.sustainable = sustainable;
+            this.plantMaterial = plantMaterial;
+            this.harvestMaterial = harvestMaterial;
+            this.seedMaterial = seedMaterial;
+            this.requiredLevel = requiredLevel;
+            this.permission = permission;
+            this.drops = drops;
+        }
+        
+        private CropType build() {
+            return new CropType(id, name, category, duration, sustainable, plantMaterial,
+                              harvestMaterial, seedMaterial, requiredLevel, permission, drops,
+                              createStageData(plantMaterial));
+        }
+    }
+    
+    /**
+     * Drops, statistics and database changes collected while harvesting one or more crops
+     */
+    private final class HarvestBatch {
+        private final Player player;
+        private final double agriculturistMultiplier;
+        private final double farmersLuckChance;
+        private final DropTable.Counter drops = new DropTable.Counter();
+        private final Map<Integer, DropTable.Modified> dropTables = new HashMap<>();
+        private final List<Crop> saves = new ArrayList<>();
+        private final List<Long> deletes = new ArrayList<>();
+        private int harvested;
+        private long experience;
+        private Crop lastCrop;
+        
+        private HarvestBatch(Player player) {
+            this.player = player;
+            
+            // Ability modifiers are looked up once per batch
+            HerbalismPlayer herbalismPlayer = plugin.getPlayerManager().getPlayer(player);
+            AbilitySnapshot abilities = herbalismPlayer != null ? 
+                plugin.getAbilityManager().getSnapshot(herbalismPlayer) : null;
+            this.agriculturistMultiplier = abilities != null ? abilities.getYieldMultiplier() : 1.0;
+            this.farmersLuckChance = abilities != null ? abilities.getBonusChance() : 0.0;
+        }
+        
+        private HarvestBatch(Player player, double agriculturistMultiplier, double farmersLuckChance) {
+            this.player = player;
+            this.agriculturistMultiplier = agriculturistMultiplier;
+            this.farmersLuckChance = farmersLuckChance;
+        }
+        
+        /**
+         * Creates an empty batch with the same modifiers, for harvesting one chunk on its own thread
+         */
+        private HarvestBatch forChunk() {
+            return new HarvestBatch(player, agriculturistMultiplier, farmersLuckChance);
+        }
+        
+        /**
+         * Adds everything collected by another batch
+         */
+        private void addAll(HarvestBatch other) {
+            drops.addAll(other.drops);
+            saves.addAll(other.saves);
+            deletes.addAll(other.deletes);
+            harvested += other.harvested;
+            experience += other.experience;
+            if (other.lastCrop != null) {
+                lastCrop = other.lastCrop;
+            }
+        }
+        
+        private void rollDrops(CropType cropType) {
+            DropTable.Modified dropTable = dropTables.computeIfAbsent(cropType.getNumericId(),
+                    id -> cropType.getDropTable().modify(agriculturistMultiplier, farmersLuckChance));
+            dropTable.roll(drops);
+        }
+    }
+    
+    /**
+     * Plant block of a removed crop, to be cleared when its chunk loads
+     */
+    private static final class PendingRemoval {
+        private final int x;
+        private final int y;
+        private final int z;
+        private final Material plantMaterial;
+        
+        private PendingRemoval(int x, int y, int z, Material plantMaterial) {
+            this.x = x;
+            this.y = y;
+            this.z = z;
+            this.plantMaterial = plantMaterial;
+        }
     }
     
     public static class DropItem {
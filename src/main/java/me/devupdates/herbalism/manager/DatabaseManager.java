@@ -5,9 +5,9 @@ import me.devupdates.herbalism.database.Database;
 import me.devupdates.herbalism.database.SQLiteDatabase;
 import me.devupdates.herbalism.player.HerbalismPlayer;
 import me.devupdates.herbalism.crop.Crop;
+import me.devupdates.herbalism.crop.CropIds;
 import me.devupdates.herbalism.util.MessageUtil;
-import org.bukkit.scheduler.BukkitRunnable;
-import org.bukkit.scheduler.BukkitTask;
+import me.devupdates.herbalism.scheduler.TaskHandle;
 
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
@@ -19,12 +19,12 @@ public class DatabaseManager {
     private final HerbalismPlugin plugin;
     private Database database;
     private final Map<UUID, HerbalismPlayer> playerCache = new ConcurrentHashMap<>();
-    private final Map<UUID, Crop> cropCache = new ConcurrentHashMap<>();
+    private final Map<Long, Crop> cropCache = new ConcurrentHashMap<>();
     private final Set<UUID> pendingPlayerSaves = ConcurrentHashMap.newKeySet();
-    private final Set<UUID> pendingCropSaves = ConcurrentHashMap.newKeySet();
+    private final Set<Long> pendingCropSaves = ConcurrentHashMap.newKeySet();
     
-    private BukkitTask saveTask;
-    private BukkitTask maintenanceTask;
+    private TaskHandle saveTask;
+    private TaskHandle maintenanceTask;
     private boolean initialized = false;
     
     public DatabaseManager(HerbalismPlugin plugin) {
@@ -69,6 +69,9 @@ public class DatabaseManager {
                     return false;
                 }
                 
+                // New crop ids must not collide with stored ones, even if the clock went back
+                CropIds.advancePast(database.getMaxCropId().get());
+                
                 // Start scheduled tasks
                 startScheduledTasks();
                 
@@ -167,7 +170,70 @@ public class DatabaseManager {
         
         return database.saveCrop(crop).thenApply(success -> {
             if (success) {
+                // Only unsaved crops stay cached, so evicted chunks do not linger in memory
                 pendingCropSaves.remove(crop.getId());
+                cropCache.remove(crop.getId(), crop);
+            }
+            return success;
+        });
+    }
+    
+    /**
+     * Saves several crops in one transaction, e.g. when their chunk unloads
+     */
+    public CompletableFuture<Boolean> saveCrops(Collection<Crop> crops) {
+        if (!initialized || crops.isEmpty()) {
+            return CompletableFuture.completedFuture(false);
+        }
+        
+        return database.saveCrops(crops).thenApply(success -> {
+            if (success) {
+                for (Crop crop : crops) {
+                    pendingCropSaves.remove(crop.getId());
+                    cropCache.remove(crop.getId(), crop);
+                }
+            } else {
+                // Keep them for the next auto-save
+                for (Crop crop : crops) {
+                    cropCache.put(crop.getId(), crop);
+                    pendingCropSaves.add(crop.getId());
+                }
+            }
+            return success;
+        });
+    }
+    
+    /**
+     * Counts the unharvested crops of every player
+     */
+    public CompletableFuture<Map<UUID, Integer>> countCropsByOwner() {
+        if (!initialized) {
+            return CompletableFuture.completedFuture(Collections.emptyMap());
+        }
+        
+        return database.countCropsByOwner();
+    }
+    
+    /**
+     * Saves and deletes several crops in one transaction, e.g. after an area harvest
+     */
+    public CompletableFuture<Boolean> applyCropChanges(Collection<Crop> saves, Collection<Long> deletes) {
+        if (!initialized || (saves.isEmpty() && deletes.isEmpty())) {
+            return CompletableFuture.completedFuture(false);
+        }
+        
+        for (long cropId : deletes) {
+            cropCache.remove(cropId);
+            pendingCropSaves.remove(cropId);
+        }
+        
+        return database.applyCropChanges(saves, deletes).thenApply(success -> {
+            if (!success) {
+                // Keep the saves for the next auto-save
+                for (Crop crop : saves) {
+                    cropCache.put(crop.getId(), crop);
+                    pendingCropSaves.add(crop.getId());
+                }
             }
             return success;
         });
@@ -176,7 +242,7 @@ public class DatabaseManager {
     /**
      * Loads a crop from the database
      */
-    public CompletableFuture<Crop> loadCrop(UUID cropId) {
+    public CompletableFuture<Crop> loadCrop(long cropId) {
         if (!initialized) {
             return CompletableFuture.completedFuture(null);
         }
@@ -212,6 +278,17 @@ public class DatabaseManager {
         });
     }
     
+    /**
+     * Loads all unharvested crops of a chunk. Results are not cached.
+     */
+    public CompletableFuture<List<Crop>> loadCropsInChunk(String world, int chunkX, int chunkZ) {
+        if (!initialized) {
+            return CompletableFuture.completedFuture(new ArrayList<>());
+        }
+        
+        return database.loadCropsInChunk(world, chunkX, chunkZ);
+    }
+    
     /**
      * Loads all crops for a specific player
      */
@@ -232,7 +309,7 @@ public class DatabaseManager {
     /**
      * Deletes a crop from the database
      */
-    public CompletableFuture<Boolean> deleteCrop(UUID cropId) {
+    public CompletableFuture<Boolean> deleteCrop(long cropId) {
         if (!initialized) {
             return CompletableFuture.completedFuture(false);
         }
@@ -246,7 +323,7 @@ public class DatabaseManager {
     /**
      * Updates crop status
      */
-    public CompletableFuture<Boolean> updateCropStatus(UUID cropId, boolean harvested, boolean decayed) {
+    public CompletableFuture<Boolean> updateCropStatus(long cropId, boolean harvested, boolean decayed) {
         if (!initialized) {
             return CompletableFuture.completedFuture(false);
         }
@@ -317,7 +394,7 @@ public class DatabaseManager {
         }
         
         // Save pending crops
-        for (UUID cropId : new HashSet<>(pendingCropSaves)) {
+        for (long cropId : new HashSet<>(pendingCropSaves)) {
             Crop crop = cropCache.get(cropId);
             if (crop != null) {
                 futures.add(database.saveCrop(crop));
@@ -339,34 +416,28 @@ public class DatabaseManager {
         int saveInterval = plugin.getConfigManager().getDatabaseSaveInterval();
         
         // Auto-save task
-        saveTask = new BukkitRunnable() {
-            @Override
-            public void run() {
-                if (!pendingPlayerSaves.isEmpty() || !pendingCropSaves.isEmpty()) {
-                    saveAllPendingData().thenAccept(success -> {
-                        if (success) {
-                            MessageUtil.debug("Auto-save completed successfully");
-                        } else {
-                            MessageUtil.warn("Auto-save failed");
-                        }
-                    });
-                }
-            }
-        }.runTaskTimerAsynchronously(plugin, saveInterval * 20L, saveInterval * 20L);
-        
-        // Maintenance task (daily)
-        maintenanceTask = new BukkitRunnable() {
-            @Override
-            public void run() {
-                performMaintenance().thenAccept(success -> {
+        saveTask = plugin.getPlatformScheduler().runAsyncTimer(() -> {
+            if (!pendingPlayerSaves.isEmpty() || !pendingCropSaves.isEmpty()) {
+                saveAllPendingData().thenAccept(success -> {
                     if (success) {
-                        MessageUtil.debug("Database maintenance completed");
+                        MessageUtil.debug("Auto-save completed successfully");
                     } else {
-                        MessageUtil.warn("Database maintenance failed");
+                        MessageUtil.warn("Auto-save failed");
                     }
                 });
             }
-        }.runTaskTimerAsynchronously(plugin, 24 * 60 * 60 * 20L, 24 * 60 * 60 * 20L); // 24 hours
+        }, saveInterval * 20L, saveInterval * 20L);
+        
+        // Maintenance task (daily)
+        maintenanceTask = plugin.getPlatformScheduler().runAsyncTimer(() -> {
+            performMaintenance().thenAccept(success -> {
+                if (success) {
+                    MessageUtil.debug("Database maintenance completed");
+                } else {
+                    MessageUtil.warn("Database maintenance failed");
+                }
+            });
+        }, 24 * 60 * 60 * 20L, 24 * 60 * 60 * 20L); // 24 hours
     }
     
     /**
@@ -380,7 +451,7 @@ public class DatabaseManager {
     /**
      * Removes a crop from the cache
      */
-    public void removeCropFromCache(UUID cropId) {
+    public void removeCropFromCache(long cropId) {
         cropCache.remove(cropId);
         pendingCropSaves.remove(cropId);
     }
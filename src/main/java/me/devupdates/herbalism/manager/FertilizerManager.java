@@ -2,27 +2,32 @@ package me.devupdates.herbalism.manager;
 
 import me.devupdates.herbalism.core.HerbalismPlugin;
 import me.devupdates.herbalism.crop.Crop;
+import me.devupdates.herbalism.crop.CropIndex;
 import me.devupdates.herbalism.fertilizer.Fertilizer;
 import me.devupdates.herbalism.player.HerbalismPlayer;
 import me.devupdates.herbalism.util.MessageUtil;
+import me.devupdates.herbalism.util.TimingWheel;
 import org.bukkit.Location;
+import org.bukkit.World;
 import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.inventory.ItemStack;
-import org.bukkit.scheduler.BukkitRunnable;
 
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 
 public class FertilizerManager {
     private final HerbalismPlugin plugin;
-    private final Map<String, Fertilizer> fertilizers;
-    private final Map<Location, FertilizerEffect> activeFertilizers;
+    // Replaced as a whole on reload, so region threads never see a half-loaded map
+    private volatile Map<String, Fertilizer> fertilizers = Collections.emptyMap();
+    // Unknown fertilizer ids of loaded crops, warned about once per load
+    private final Set<String> unknownFertilizers = ConcurrentHashMap.newKeySet();
+    // Expiry of the timed effects, so each run only touches the effects that run out
+    private final TimingWheel<Expiry> expiries;
     
     public FertilizerManager(HerbalismPlugin plugin) {
         this.plugin = plugin;
-        this.fertilizers = new HashMap<>();
-        this.activeFertilizers = new ConcurrentHashMap<>();
+        this.expiries = new TimingWheel<>(1000L, System.currentTimeMillis());
         loadFertilizers();
         startFertilizerTask();
     }
@@ -31,30 +36,30 @@ public class FertilizerManager {
      * Loads fertilizers from fertilizers.yml configuration
      */
     private void loadFertilizers() {
-        fertilizers.clear();
+        Map<String, Fertilizer> loaded = new HashMap<>();
         
         FileConfiguration config = plugin.getConfigManager().getFertilizersConfig();
         ConfigurationSection fertilizerSection = config.getConfigurationSection("fertilizers");
         
         if (fertilizerSection == null) {
             MessageUtil.warn("No fertilizers section found in fertilizers.yml");
-            return;
-        }
-        
-        for (String id : fertilizerSection.getKeys(false)) {
-            ConfigurationSection fertilizerConfig = fertilizerSection.getConfigurationSection(id);
-            if (fertilizerConfig != null) {
-                try {
-                    Fertilizer fertilizer = new Fertilizer(id, fertilizerConfig);
-                    fertilizers.put(id, fertilizer);
-                    MessageUtil.debug("Loaded fertilizer: " + id);
-                } catch (Exception e) {
-                    MessageUtil.error("Failed to load fertilizer: " + id + " - " + e.getMessage());
+        } else {
+            for (String id : fertilizerSection.getKeys(false)) {
+                ConfigurationSection fertilizerConfig = fertilizerSection.getConfigurationSection(id);
+                if (fertilizerConfig != null) {
+                    try {
+                        loaded.put(id, new Fertilizer(id, fertilizerConfig));
+                        MessageUtil.debug("Loaded fertilizer: " + id);
+                    } catch (Exception e) {
+                        MessageUtil.error("Failed to load fertilizer: " + id + " - " + e.getMessage());
+                    }
                 }
             }
         }
         
-        MessageUtil.info("Loaded " + fertilizers.size() + " fertilizers");
+        fertilizers = Collections.unmodifiableMap(loaded);
+        unknownFertilizers.clear();
+        MessageUtil.info("Loaded " + loaded.size() + " fertilizers");
     }
     
     /**
@@ -75,12 +80,7 @@ public class FertilizerManager {
      * Attempts to identify a fertilizer from an ItemStack
      */
     public Fertilizer identifyFertilizer(ItemStack item) {
-        for (Fertilizer fertilizer : fertilizers.values()) {
-            if (fertilizer.matches(item)) {
-                return fertilizer;
-            }
-        }
-        return null;
+        return plugin.getItemManager().getFertilizer(item);
     }
     
     /**
@@ -107,18 +107,14 @@ public class FertilizerManager {
             return false;
         }
         
-        // Apply fertilizer effect
-        Location location = crop.getLocation();
-        FertilizerEffect effect = new FertilizerEffect(fertilizer, System.currentTimeMillis());
-        
-        // Remove existing fertilizer effect if any
-        activeFertilizers.remove(location);
-        
-        // Add new effect
-        activeFertilizers.put(location, effect);
-        
-        // Update crop growth modifier
-        crop.setGrowthModifier(fertilizer.getGrowthMultiplier());
+        // Apply fertilizer effect, replacing an existing one if any
+        long now = System.currentTimeMillis();
+        crop.setFertilizer(fertilizer.getId(), now);
+        crop.setGrowthModifier(fertilizer.getGrowthMultiplier(), effectEnd(fertilizer, now));
+        if (!fertilizer.isPermanent()) {
+            scheduleExpiry(crop, fertilizer);
+        }
+        plugin.getDatabaseManager().saveCrop(crop);
         
         // Give experience to player
         player.addExperience(fertilizer.getExperienceGain());
@@ -130,7 +126,7 @@ public class FertilizerManager {
         plugin.getLanguageManager().sendMessage(player.getPlayer(), 
             "messages.fertilizer.applied", successPlaceholders);
         
-        MessageUtil.debug("Applied fertilizer " + fertilizer.getId() + " to crop at " + location);
+        MessageUtil.debug("Applied fertilizer " + fertilizer.getId() + " to crop " + crop.getId());
         return true;
     }
     
@@ -138,68 +134,222 @@ public class FertilizerManager {
      * Checks if a crop has an active fertilizer effect
      */
     public boolean hasFertilizerEffect(Crop crop) {
-        return activeFertilizers.containsKey(crop.getLocation());
+        return getFertilizerEffect(crop) != null;
     }
     
     /**
-     * Gets the active fertilizer effect for a crop
+     * Gets the active fertilizer effect for a crop, or null if it has none
      */
     public FertilizerEffect getFertilizerEffect(Crop crop) {
-        return activeFertilizers.get(crop.getLocation());
+        String fertilizerId = crop.getFertilizerId();
+        if (fertilizerId == null) return null;
+        
+        Fertilizer fertilizer = fertilizers.get(fertilizerId);
+        if (fertilizer == null) return null;
+        
+        FertilizerEffect effect = new FertilizerEffect(fertilizer, crop.getFertilizerTime());
+        return fertilizer.isPermanent() || !effect.isExpired(System.currentTimeMillis()) ? effect : null;
     }
     
     /**
      * Removes fertilizer effect from a crop
      */
     public void removeFertilizerEffect(Crop crop) {
-        Location location = crop.getLocation();
-        activeFertilizers.remove(location);
-        crop.setGrowthModifier(1.0); // Reset to default
+        // A pending expiry no longer matches the crop and is skipped when it fires
+        crop.setFertilizer(null, 0L);
+        crop.clearGrowthModifier(); // Reset to default
+    }
+    
+    /**
+     * Picks up the fertilizer effect of a crop that was just loaded. Effects that ran out
+     * while the crop was unloaded are removed right away, the others expire on schedule.
+     * Effects of unknown fertilizers are kept as stored, in case the fertilizer comes back.
+     * Must run on the thread owning the crop.
+     */
+    public void trackEffect(Crop crop) {
+        if (!crop.hasFertilizer()) return;
+        
+        String fertilizerId = crop.getFertilizerId();
+        Fertilizer fertilizer = fertilizers.get(fertilizerId);
+        if (fertilizer == null) {
+            if (unknownFertilizers.add(fertilizerId)) {
+                MessageUtil.warn("Crops use unknown fertilizer " + fertilizerId + ", keeping their effects as stored");
+            }
+        } else if (getFertilizerEffect(crop) == null) {
+            removeFertilizerEffect(crop);
+        } else if (!fertilizer.isPermanent()) {
+            scheduleExpiry(crop, fertilizer);
+        }
+    }
+    
+    /**
+     * Applies an area fertilizer to every crop of the player within its radius: a single index
+     * query, one success roll and one message, then one scheduler pass, expiry and save per
+     * chunk on the thread owning that chunk. Crops that are ready or already fertilized are
+     * left alone. Must run on the thread owning the center.
+     *
+     * @return the number of crops picked for fertilizing
+     */
+    public int applyFertilizerArea(Location center, Fertilizer fertilizer, HerbalismPlayer player) {
+        if (center.getWorld() == null || fertilizer == null) {
+            return 0;
+        }
+        
+        // Check if player meets level requirement
+        if (player.getLevel() < fertilizer.getRequiredLevel()) {
+            Map<String, Object> placeholders = new HashMap<>();
+            placeholders.put("level", String.valueOf(fertilizer.getRequiredLevel()));
+            plugin.getLanguageManager().sendMessage(player.getPlayer(), 
+                "messages.fertilizer.level-required", placeholders);
+            return 0;
+        }
+        
+        // One roll for the whole area
+        if (Math.random() > fertilizer.getSuccessChance()) {
+            plugin.getLanguageManager().sendMessage(player.getPlayer(), 
+                "messages.fertilizer.failed");
+            return 0;
+        }
+        
+        World world = center.getWorld();
+        UUID playerId = player.getUUID();
+        Map<Long, List<Crop>> candidates = new HashMap<>();
+        int picked = 0;
+        for (Crop crop : plugin.getCropManager().getCropIndex().getCropsInRadius(world.getUID(),
+                center.getBlockX(), center.getBlockZ(), fertilizer.getRadius())) {
+            // Crops of other regions are only read here and checked again on their own thread
+            if (isFertilizable(crop, playerId)) {
+                candidates.computeIfAbsent(CropIndex.chunkKey(crop.getChunkX(), crop.getChunkZ()), k -> new ArrayList<>())
+                        .add(crop);
+                picked++;
+            }
+        }
+        
+        if (picked == 0) {
+            plugin.getLanguageManager().sendMessage(player.getPlayer(), "messages.fertilizer.area-none");
+            return 0;
+        }
+        
+        long now = System.currentTimeMillis();
+        for (Map.Entry<Long, List<Crop>> entry : candidates.entrySet()) {
+            int chunkX = CropIndex.chunkX(entry.getKey());
+            int chunkZ = CropIndex.chunkZ(entry.getKey());
+            Location chunkLocation = new Location(world, chunkX << 4, center.getBlockY(), chunkZ << 4);
+            List<Crop> crops = entry.getValue();
+            plugin.getPlatformScheduler().runAtChunk(world, chunkX, chunkZ,
+                    () -> fertilizeChunk(crops, chunkLocation, fertilizer, playerId, now));
+        }
+        
+        // Experience is granted per use, not per crop
+        player.addExperience(fertilizer.getExperienceGain());
+        
+        Map<String, Object> placeholders = new HashMap<>();
+        placeholders.put("fertilizer", fertilizer.getName());
+        placeholders.put("amount", picked);
+        plugin.getLanguageManager().sendMessage(player.getPlayer(), 
+            "messages.fertilizer.area-applied", placeholders);
+        
+        MessageUtil.debug("Applying fertilizer " + fertilizer.getId() + " to " + picked + " crops in "
+                + candidates.size() + " chunks around " + center);
+        return picked;
+    }
+    
+    /**
+     * Fertilizes the picked crops of one chunk as one batch. Must run on the thread owning the chunk.
+     */
+    private void fertilizeChunk(List<Crop> crops, Location chunkLocation, Fertilizer fertilizer, UUID playerId, long now) {
+        CropManager cropManager = plugin.getCropManager();
+        List<Crop> fertilized = new ArrayList<>(crops.size());
+        for (Crop crop : crops) {
+            // Skip crops harvested, unloaded or fertilized since they were picked
+            if (cropManager.getCrop(crop.getId()) != crop || !isFertilizable(crop, playerId)) continue;
+            
+            crop.setFertilizer(fertilizer.getId(), now);
+            crop.applyGrowthModifier(fertilizer.getGrowthMultiplier(), effectEnd(fertilizer, now));
+            fertilized.add(crop);
+        }
+        if (fertilized.isEmpty()) return;
+        
+        cropManager.getCropScheduler().rescheduleAll(fertilized);
+        if (!fertilizer.isPermanent()) {
+            scheduleExpiry(fertilized, chunkLocation, fertilizer, now);
+        }
+        plugin.getDatabaseManager().saveCrops(fertilized);
+    }
+    
+    private boolean isFertilizable(Crop crop, UUID playerId) {
+        return crop.getOwnerId().equals(playerId) && !crop.isHarvested() && !crop.isReadyForHarvest()
+                && getFertilizerEffect(crop) == null;
+    }
+    
+    private void scheduleExpiry(Crop crop, Fertilizer fertilizer) {
+        scheduleExpiry(Collections.singletonList(crop), crop.getLocation(), fertilizer, crop.getFertilizerTime());
+    }
+    
+    /**
+     * Schedules the expiry of an effect applied to the given crops at the same time.
+     * The crops must all be owned by the thread owning the location.
+     */
+    private void scheduleExpiry(List<Crop> crops, Location location, Fertilizer fertilizer, long appliedTime) {
+        long[] cropIds = new long[crops.size()];
+        for (int i = 0; i < cropIds.length; i++) {
+            cropIds[i] = crops.get(i).getId();
+        }
+        
+        Expiry expiry = new Expiry(cropIds, location, appliedTime);
+        synchronized (expiries) {
+            expiries.schedule(expiry, effectEnd(fertilizer, appliedTime));
+        }
+    }
+    
+    /**
+     * Gets the time an effect applied at the given time runs out, or Long.MAX_VALUE if it never does
+     */
+    private static long effectEnd(Fertilizer fertilizer, long appliedTime) {
+        return fertilizer.isPermanent() ? Long.MAX_VALUE : appliedTime + fertilizer.getDuration() * 1000L;
     }
     
     /**
      * Starts the fertilizer effect cleanup task
      */
     private void startFertilizerTask() {
-        new BukkitRunnable() {
-            @Override
-            public void run() {
-                cleanupExpiredFertilizers();
-            }
-        }.runTaskTimer(plugin, 20L, 20L); // Run every second
+        // Only touches plugin state, so it does not need to run on a region thread
+        plugin.getPlatformScheduler().runGlobalTimer(this::cleanupExpiredFertilizers, 20L, 20L); // Run every second
     }
     
     /**
      * Cleans up expired fertilizer effects
      */
     private void cleanupExpiredFertilizers() {
-        long currentTime = System.currentTimeMillis();
-        Iterator<Map.Entry<Location, FertilizerEffect>> iterator = activeFertilizers.entrySet().iterator();
+        List<Expiry> expired = new ArrayList<>();
+        synchronized (expiries) {
+            // Also advances an empty wheel, so new expiries are placed relative to the current time
+            expiries.advance(System.currentTimeMillis(), expired::add);
+        }
         
-        while (iterator.hasNext()) {
-            Map.Entry<Location, FertilizerEffect> entry = iterator.next();
-            FertilizerEffect effect = entry.getValue();
-            
-            if (!effect.fertilizer.isPermanent() && effect.isExpired(currentTime)) {
-                Location location = entry.getKey();
-                iterator.remove();
-                
-                // Reset crop growth modifier
-                Crop crop = plugin.getCropManager().getCropAtLocation(location);
-                if (crop != null) {
-                    crop.setGrowthModifier(1.0);
+        for (Expiry expiry : expired) {
+            // Remove the effect on the region owning the crop, which reschedules its growth
+            plugin.getPlatformScheduler().runAtLocation(expiry.location, () -> {
+                for (long cropId : expiry.cropIds) {
+                    Crop crop = plugin.getCropManager().getCrop(cropId);
+                    // Skip crops that were unloaded, or fertilized again or cleared in the meantime
+                    if (crop == null || !crop.hasFertilizer() || crop.getFertilizerTime() != expiry.appliedTime) continue;
+                    
+                    removeFertilizerEffect(crop);
+                    MessageUtil.debug("Fertilizer effect expired on crop " + crop.getId());
                 }
-                
-                MessageUtil.debug("Fertilizer effect expired at " + location);
-            }
+            });
         }
     }
     
     /**
-     * Clears all fertilizer effects (used on plugin disable)
+     * Stops tracking effect expiries (used on plugin disable).
+     * The effects stay on their crops and are saved with them.
      */
     public void clearAllEffects() {
-        activeFertilizers.clear();
+        synchronized (expiries) {
+            expiries.clear();
+        }
     }
     
     /**
@@ -229,6 +379,10 @@ public class FertilizerManager {
             return appliedTime;
         }
         
+        public long getExpiryTime() {
+            return appliedTime + fertilizer.getDuration() * 1000L;
+        }
+        
         public boolean isExpired(long currentTime) {
             return currentTime - appliedTime > (fertilizer.getDuration() * 1000L);
         }
@@ -239,4 +393,20 @@ public class FertilizerManager {
             return Math.max(0, duration - elapsed);
         }
     }
+    
+    /**
+     * Pending expiry of a timed effect on one crop, or on all crops of an area application.
+     * Matched against each crop by the time it was applied.
+     */
+    private static final class Expiry {
+        private final long[] cropIds;
+        private final Location location;
+        private final long appliedTime;
+        
+        private Expiry(long[] cropIds, Location location, long appliedTime) {
+            this.cropIds = cropIds;
+            this.location = location;
+            this.appliedTime = appliedTime;
+        }
+    }
 } 
\ No newline at end of file
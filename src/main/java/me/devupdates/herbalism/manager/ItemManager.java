@@ -0,0 +1,118 @@
+package me.devupdates.herbalism.manager;
+
+import me.devupdates.herbalism.core.HerbalismPlugin;
+import me.devupdates.herbalism.fertilizer.Fertilizer;
+import me.devupdates.herbalism.item.CustomItem;
+import me.devupdates.herbalism.item.ItemRegistry;
+import me.devupdates.herbalism.util.MessageUtil;
+import org.bukkit.Material;
+import org.bukkit.NamespacedKey;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+public class ItemManager {
+    private final HerbalismPlugin plugin;
+    private final NamespacedKey itemKey;
+    // Replaced as a whole on reload, so lookups never see a half-built registry
+    private volatile ItemRegistry registry;
+
+    public ItemManager(HerbalismPlugin plugin) {
+        this.plugin = plugin;
+        this.itemKey = new NamespacedKey(plugin, "item");
+        loadItems();
+    }
+
+    /**
+     * Loads custom items from items.yml and compiles them with the fertilizers
+     */
+    private void loadItems() {
+        List<CustomItem> items = new ArrayList<>();
+
+        FileConfiguration config = plugin.getConfigManager().getItemsConfig();
+        ConfigurationSection itemSection = config != null ? config.getConfigurationSection("items") : null;
+
+        if (itemSection == null) {
+            MessageUtil.warn("No items section found in items.yml");
+        } else {
+            for (String id : itemSection.getKeys(false)) {
+                ConfigurationSection itemConfig = itemSection.getConfigurationSection(id);
+                if (itemConfig != null) {
+                    try {
+                        items.add(new CustomItem(id, itemConfig));
+                        MessageUtil.debug("Loaded item: " + id);
+                    } catch (Exception e) {
+                        MessageUtil.error("Failed to load item: " + id + " - " + e.getMessage());
+                    }
+                }
+            }
+        }
+
+        registry = ItemRegistry.compile(itemKey, plugin.getFertilizerManager().getFertilizers().values(), items);
+        MessageUtil.info("Loaded " + items.size() + " custom items");
+    }
+
+    /**
+     * Marks an item meta as a plugin item with the given tag
+     */
+    public void tag(ItemMeta meta, String tag) {
+        registry.tag(meta, tag);
+    }
+
+    /**
+     * Gets the fertilizer an item represents, or null if it is none
+     */
+    public Fertilizer getFertilizer(ItemStack item) {
+        return registry.getFertilizer(item);
+    }
+
+    /**
+     * Gets the custom item an item represents, or null if it is none
+     */
+    public CustomItem getCustomItem(ItemStack item) {
+        return registry.getCustomItem(item);
+    }
+
+    /**
+     * Gets a custom item by ID
+     */
+    public CustomItem getCustomItem(String id) {
+        return registry.getCustomItem(id);
+    }
+
+    /**
+     * Gets all custom items
+     */
+    public Map<String, CustomItem> getCustomItems() {
+        return registry.getCustomItems();
+    }
+
+    /**
+     * Gets the crop type planted with an item, or null if the item is no seed.
+     * Custom seeds plant their configured crop, vanilla seeds the crop using their material.
+     */
+    public CropManager.CropType getSeedCropType(ItemStack item) {
+        if (item == null || item.getType() == Material.AIR) {
+            return null;
+        }
+
+        CustomItem customItem = registry.getCustomItem(item);
+        if (customItem != null) {
+            return customItem.getCrop() != null ? plugin.getCropManager().getCropType(customItem.getCrop()) : null;
+        }
+
+        return plugin.getCropManager().getCropTypeBySeed(item.getType());
+    }
+
+    /**
+     * Reloads custom items, picking up the current fertilizers as well
+     */
+    public void reload() {
+        loadItems();
+    }
+}
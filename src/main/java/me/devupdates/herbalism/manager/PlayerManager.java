@@ -2,7 +2,9 @@ package me.devupdates.herbalism.manager;
 
 import me.devupdates.herbalism.core.HerbalismPlugin;
 import me.devupdates.herbalism.player.HerbalismPlayer;
+import me.devupdates.herbalism.util.LatencyRecorder;
 import me.devupdates.herbalism.util.MessageUtil;
+import me.devupdates.herbalism.util.PerformanceMonitor;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
@@ -20,9 +22,13 @@ public class PlayerManager implements Listener {
     private final HerbalismPlugin plugin;
     private final Map<UUID, HerbalismPlayer> players = new ConcurrentHashMap<>();
     private final Map<UUID, Long> lastSaveTime = new HashMap<>();
+    private final LatencyRecorder joinTimer;
+    private final LatencyRecorder quitTimer;
     
     public PlayerManager(HerbalismPlugin plugin) {
         this.plugin = plugin;
+        this.joinTimer = plugin.getPerformanceMonitor().getRecorder(PerformanceMonitor.PLAYER_JOIN);
+        this.quitTimer = plugin.getPerformanceMonitor().getRecorder(PerformanceMonitor.PLAYER_QUIT);
         
         // Register this manager as a listener for player events
         plugin.getServer().getPluginManager().registerEvents(this, plugin);
@@ -144,6 +150,7 @@ public class PlayerManager implements Listener {
             savePlayer(herbalismPlayer);
             players.remove(uuid);
             lastSaveTime.remove(uuid);
+            plugin.getAbilityManager().invalidate(uuid);
             MessageUtil.debug("Unloaded player " + herbalismPlayer.getName());
         }
     }
@@ -272,6 +279,7 @@ public class PlayerManager implements Listener {
     // Event handlers
     @EventHandler
     public void onPlayerJoin(PlayerJoinEvent event) {
+        long start = System.nanoTime();
         Player player = event.getPlayer();
         UUID uuid = player.getUniqueId();
         String name = player.getName();
@@ -281,10 +289,12 @@ public class PlayerManager implements Listener {
         herbalismPlayer.updateLastSeen();
         
         MessageUtil.debug("Player " + name + " joined - data loaded");
+        joinTimer.recordSince(start);
     }
     
     @EventHandler
     public void onPlayerQuit(PlayerQuitEvent event) {
+        long start = System.nanoTime();
         Player player = event.getPlayer();
         UUID uuid = player.getUniqueId();
         
@@ -297,10 +307,11 @@ public class PlayerManager implements Listener {
         }
         
         // Delay unloading to allow other plugins to finish their work
-        plugin.getServer().getScheduler().runTaskLater(plugin, () -> {
+        plugin.getPlatformScheduler().runForEntity(player, () -> {
             unloadPlayer(uuid);
         }, 20L); // 1 second delay
         
         MessageUtil.debug("Player " + player.getName() + " quit - data saved and unloaded");
+        quitTimer.recordSince(start);
     }
 } 
\ No newline at end of file
@@ -157,16 +157,27 @@ public class HerbalismPlayer {
         this.maxPlants = Math.max(1, maxPlants);
     }
     
+    /**
+     * Gets the number of crops this player has. Taken from the crop manager's owner index
+     * while the plugin runs, so it always matches the crops that actually exist.
+     */
     public int getActiveCrops() {
+        HerbalismPlugin plugin = HerbalismPlugin.getInstance();
+        if (plugin != null && plugin.getCropManager() != null) {
+            return plugin.getCropManager().getPlayerCropCount(uuid);
+        }
         return activeCrops;
     }
     
+    /**
+     * Sets the stored crop count, only used while the owner index is unavailable
+     */
     public void setActiveCrops(int activeCrops) {
         this.activeCrops = Math.max(0, activeCrops);
     }
     
     public boolean canPlantMore() {
-        return activeCrops < totalPlants;
+        return getActiveCrops() < totalPlants;
     }
     
     public int getTotalHarvests() {
@@ -177,6 +188,10 @@ public class HerbalismPlayer {
         this.totalHarvests++;
     }
     
+    public void addHarvests(int amount) {
+        this.totalHarvests += amount;
+    }
+    
     public int getTotalFertilizersUsed() {
         return totalFertilizersUsed;
     }
@@ -328,7 +343,7 @@ public class HerbalismPlayer {
         data.put("total_play_time", totalPlayTime);
         data.put("first_joined", firstJoined);
         data.put("last_seen", lastSeen);
-        data.put("active_crops", activeCrops);
+        data.put("active_crops", getActiveCrops());
         data.put("abilities", abilities);
         data.put("fertilizer_cooldowns", fertilizerCooldowns);
         data.put("active_effects", activeEffects);
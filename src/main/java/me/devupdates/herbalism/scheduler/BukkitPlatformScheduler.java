@@ -0,0 +1,82 @@
+package me.devupdates.herbalism.scheduler;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Entity;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+
+/**
+ * Scheduler for Paper/Spigot servers, where all world access happens on the main thread
+ */
+public class BukkitPlatformScheduler implements PlatformScheduler {
+
+    private final Plugin plugin;
+
+    public BukkitPlatformScheduler(Plugin plugin) {
+        this.plugin = plugin;
+    }
+
+    @Override
+    public boolean isRegionThreaded() {
+        return false;
+    }
+
+    @Override
+    public TaskHandle runGlobalTimer(Runnable task, long delay, long period) {
+        return wrap(plugin.getServer().getScheduler().runTaskTimer(plugin, task, delay, period));
+    }
+
+    @Override
+    public void runGlobal(Runnable task) {
+        plugin.getServer().getScheduler().runTask(plugin, task);
+    }
+
+    @Override
+    public TaskHandle runAsyncTimer(Runnable task, long delay, long period) {
+        return wrap(plugin.getServer().getScheduler().runTaskTimerAsynchronously(plugin, task, delay, period));
+    }
+
+    @Override
+    public void runAsync(Runnable task) {
+        plugin.getServer().getScheduler().runTaskAsynchronously(plugin, task);
+    }
+
+    @Override
+    public void runAtChunk(World world, int chunkX, int chunkZ, Runnable task) {
+        if (plugin.getServer().isPrimaryThread()) {
+            task.run();
+        } else {
+            plugin.getServer().getScheduler().runTask(plugin, task);
+        }
+    }
+
+    @Override
+    public TaskHandle runAtLocationLater(Location location, Runnable task, long delay) {
+        return wrap(plugin.getServer().getScheduler().runTaskLater(plugin, task, delay));
+    }
+
+    @Override
+    public void runForEntity(Entity entity, Runnable task, long delay) {
+        plugin.getServer().getScheduler().runTaskLater(plugin, task, delay);
+    }
+
+    @Override
+    public boolean isOwnedByCurrentThread(World world, int chunkX, int chunkZ) {
+        return plugin.getServer().isPrimaryThread();
+    }
+
+    private static TaskHandle wrap(BukkitTask task) {
+        return new TaskHandle() {
+            @Override
+            public void cancel() {
+                task.cancel();
+            }
+
+            @Override
+            public boolean isCancelled() {
+                return task.isCancelled();
+            }
+        };
+    }
+}
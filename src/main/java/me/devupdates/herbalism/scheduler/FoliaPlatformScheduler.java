@@ -0,0 +1,91 @@
+package me.devupdates.herbalism.scheduler;
+
+import io.papermc.paper.threadedregions.scheduler.ScheduledTask;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Entity;
+import org.bukkit.plugin.Plugin;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scheduler for Folia servers, dispatching work to the region or entity that owns it
+ */
+public class FoliaPlatformScheduler implements PlatformScheduler {
+
+    private static final long MILLIS_PER_TICK = 50L;
+
+    private final Plugin plugin;
+
+    public FoliaPlatformScheduler(Plugin plugin) {
+        this.plugin = plugin;
+    }
+
+    @Override
+    public boolean isRegionThreaded() {
+        return true;
+    }
+
+    @Override
+    public TaskHandle runGlobalTimer(Runnable task, long delay, long period) {
+        return wrap(plugin.getServer().getGlobalRegionScheduler()
+                .runAtFixedRate(plugin, scheduled -> task.run(), Math.max(1, delay), Math.max(1, period)));
+    }
+
+    @Override
+    public void runGlobal(Runnable task) {
+        plugin.getServer().getGlobalRegionScheduler().execute(plugin, task);
+    }
+
+    @Override
+    public TaskHandle runAsyncTimer(Runnable task, long delay, long period) {
+        return wrap(plugin.getServer().getAsyncScheduler()
+                .runAtFixedRate(plugin, scheduled -> task.run(),
+                        Math.max(1, delay) * MILLIS_PER_TICK, Math.max(1, period) * MILLIS_PER_TICK,
+                        TimeUnit.MILLISECONDS));
+    }
+
+    @Override
+    public void runAsync(Runnable task) {
+        plugin.getServer().getAsyncScheduler().runNow(plugin, scheduled -> task.run());
+    }
+
+    @Override
+    public void runAtChunk(World world, int chunkX, int chunkZ, Runnable task) {
+        if (plugin.getServer().isOwnedByCurrentRegion(world, chunkX, chunkZ)) {
+            task.run();
+        } else {
+            plugin.getServer().getRegionScheduler().execute(plugin, world, chunkX, chunkZ, task);
+        }
+    }
+
+    @Override
+    public TaskHandle runAtLocationLater(Location location, Runnable task, long delay) {
+        return wrap(plugin.getServer().getRegionScheduler()
+                .runDelayed(plugin, location, scheduled -> task.run(), Math.max(1, delay)));
+    }
+
+    @Override
+    public void runForEntity(Entity entity, Runnable task, long delay) {
+        entity.getScheduler().execute(plugin, task, task, Math.max(1, delay));
+    }
+
+    @Override
+    public boolean isOwnedByCurrentThread(World world, int chunkX, int chunkZ) {
+        return plugin.getServer().isOwnedByCurrentRegion(world, chunkX, chunkZ);
+    }
+
+    private static TaskHandle wrap(ScheduledTask task) {
+        return new TaskHandle() {
+            @Override
+            public void cancel() {
+                task.cancel();
+            }
+
+            @Override
+            public boolean isCancelled() {
+                return task.isCancelled();
+            }
+        };
+    }
+}
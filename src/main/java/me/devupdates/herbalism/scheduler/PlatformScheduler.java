@@ -0,0 +1,84 @@
+package me.devupdates.herbalism.scheduler;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Entity;
+import org.bukkit.plugin.Plugin;
+
+/**
+ * Schedules plugin work on the right thread for the running server.
+ * On Paper everything world-related runs on the main thread; on Folia work is
+ * dispatched to the region owning the chunk, or to the entity's scheduler.
+ * All delays and periods are in ticks.
+ */
+public interface PlatformScheduler {
+
+    /**
+     * Creates the scheduler matching the running server
+     */
+    static PlatformScheduler create(Plugin plugin) {
+        return isFolia() ? new FoliaPlatformScheduler(plugin) : new BukkitPlatformScheduler(plugin);
+    }
+
+    /**
+     * Checks if the server runs regions on separate threads (Folia)
+     */
+    static boolean isFolia() {
+        try {
+            Class.forName("io.papermc.paper.threadedregions.RegionizedServer");
+            return true;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+
+    boolean isRegionThreaded();
+
+    /**
+     * Runs a repeating task that does not belong to any region
+     */
+    TaskHandle runGlobalTimer(Runnable task, long delay, long period);
+
+    /**
+     * Runs a task that does not belong to any region, on the next tick
+     */
+    void runGlobal(Runnable task);
+
+    /**
+     * Runs a repeating task off the server threads
+     */
+    TaskHandle runAsyncTimer(Runnable task, long delay, long period);
+
+    /**
+     * Runs a task off the server threads
+     */
+    void runAsync(Runnable task);
+
+    /**
+     * Runs a task on the thread owning a chunk. Runs immediately if the current thread owns it.
+     */
+    void runAtChunk(World world, int chunkX, int chunkZ, Runnable task);
+
+    /**
+     * Runs a task on the thread owning a location. Runs immediately if the current thread owns it.
+     */
+    default void runAtLocation(Location location, Runnable task) {
+        runAtChunk(location.getWorld(), location.getBlockX() >> 4, location.getBlockZ() >> 4, task);
+    }
+
+    /**
+     * Runs a task on the thread owning a location after a delay
+     */
+    TaskHandle runAtLocationLater(Location location, Runnable task, long delay);
+
+    /**
+     * Runs a task on the thread owning an entity after a delay. The task also runs
+     * if the entity is removed first (e.g. a player who logged out).
+     */
+    void runForEntity(Entity entity, Runnable task, long delay);
+
+    /**
+     * Checks if the current thread may access the given chunk
+     */
+    boolean isOwnedByCurrentThread(World world, int chunkX, int chunkZ);
+}
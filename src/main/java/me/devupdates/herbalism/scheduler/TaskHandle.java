@@ -0,0 +1,11 @@
+package me.devupdates.herbalism.scheduler;
+
+/**
+ * Handle to a scheduled task, independent of the server's scheduler implementation
+ */
+public interface TaskHandle {
+
+    void cancel();
+
+    boolean isCancelled();
+}
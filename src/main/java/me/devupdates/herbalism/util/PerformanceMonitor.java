@@ -0,0 +1,70 @@
+package me.devupdates.herbalism.util;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Named latency recorders for the event handlers and interaction paths.
+ * Callers look their recorder up once and keep it, so recording never touches the map.
+ */
+public class PerformanceMonitor {
+
+    public static final String BLOCK_PLACE = "handler.block-place";
+    public static final String BLOCK_BREAK = "handler.block-break";
+    public static final String PLAYER_INTERACT = "handler.player-interact";
+    public static final String PLAYER_JOIN = "handler.player-join";
+    public static final String PLAYER_QUIT = "handler.player-quit";
+    public static final String PLANTING = "path.planting";
+    public static final String HARVEST = "path.harvest";
+    public static final String FERTILIZER = "path.fertilizer";
+    public static final String INFO = "path.info";
+
+    private final Map<String, LatencyRecorder> recorders = new ConcurrentHashMap<>();
+
+    /**
+     * Gets the recorder with the given name, creating it if needed
+     */
+    public LatencyRecorder getRecorder(String name) {
+        return recorders.computeIfAbsent(name, LatencyRecorder::new);
+    }
+
+    /**
+     * Gets snapshots of all recorders, sorted by name
+     */
+    public List<LatencyRecorder.Snapshot> getSnapshots() {
+        List<LatencyRecorder.Snapshot> snapshots = new ArrayList<>();
+        for (LatencyRecorder recorder : recorders.values()) {
+            snapshots.add(recorder.snapshot());
+        }
+        snapshots.sort((a, b) -> a.getName().compareTo(b.getName()));
+        return snapshots;
+    }
+
+    /**
+     * Clears all recorders
+     */
+    public void reset() {
+        for (LatencyRecorder recorder : recorders.values()) {
+            recorder.reset();
+        }
+    }
+
+    /**
+     * Gets performance statistics, in microseconds
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        for (LatencyRecorder.Snapshot snapshot : getSnapshots()) {
+            String prefix = snapshot.getName() + ".";
+            stats.put(prefix + "count", snapshot.getCount());
+            stats.put(prefix + "totalMicros", snapshot.getTotalNanos() / 1000);
+            stats.put(prefix + "p50Micros", snapshot.getP50Nanos() / 1000.0);
+            stats.put(prefix + "p99Micros", snapshot.getP99Nanos() / 1000.0);
+            stats.put(prefix + "maxMicros", snapshot.getMaxNanos() / 1000.0);
+        }
+        return stats;
+    }
+}
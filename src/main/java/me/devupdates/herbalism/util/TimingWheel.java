@@ -0,0 +1,281 @@
+package me.devupdates.herbalism.util;
+
+import java.util.function.Consumer;
+
+/**
+ * Hierarchical timing wheel for scheduling many deadlines cheaply.
+ * Scheduling and cancelling are O(1), and advancing only touches entries that are due
+ * (plus the occasional cascade of a coarser slot into finer ones).
+ * Not thread-safe; callers must synchronize externally.
+ */
+public class TimingWheel<T> {
+
+    private static final int WHEEL_BITS = 6;
+    private static final int WHEEL_SIZE = 1 << WHEEL_BITS;
+    private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+    private static final int LEVELS = 4;
+
+    private final long resolutionMillis;
+    private final Timer<T>[][] wheels;
+    private Timer<T> overflow;
+    private Timer<T> due;
+    private long currentTick;
+    private int size;
+
+    @SuppressWarnings("unchecked")
+    public TimingWheel(long resolutionMillis, long startMillis) {
+        if (resolutionMillis <= 0) {
+            throw new IllegalArgumentException("Resolution must be positive");
+        }
+        this.resolutionMillis = resolutionMillis;
+        this.wheels = new Timer[LEVELS][WHEEL_SIZE];
+        this.currentTick = startMillis / resolutionMillis;
+    }
+
+    /**
+     * Schedules a value to fire once the deadline has passed
+     */
+    public Timer<T> schedule(T value, long deadlineMillis) {
+        Timer<T> timer = new Timer<>(value);
+        timer.deadline = deadlineMillis;
+        insert(timer);
+        size++;
+        return timer;
+    }
+
+    /**
+     * Moves an existing timer to a new deadline, re-arming it if it already fired or was cancelled
+     */
+    public void reschedule(Timer<T> timer, long deadlineMillis) {
+        if (timer.isScheduled()) {
+            unlink(timer);
+        } else {
+            size++;
+        }
+        timer.deadline = deadlineMillis;
+        insert(timer);
+    }
+
+    /**
+     * Cancels a timer. Does nothing if it already fired or was cancelled.
+     */
+    public void cancel(Timer<T> timer) {
+        if (timer.isScheduled()) {
+            unlink(timer);
+            size--;
+        }
+    }
+
+    /**
+     * Advances the wheel to the given time and hands every expired value to the consumer.
+     * Values are removed from the wheel before the consumer runs, so it may reschedule them.
+     *
+     * @return the number of values that expired
+     */
+    public int advance(long nowMillis, Consumer<T> expired) {
+        int fired = fireList(takeDue(), expired);
+
+        long targetTick = nowMillis / resolutionMillis;
+        while (currentTick < targetTick) {
+            if (size == 0) {
+                currentTick = targetTick;
+                break;
+            }
+
+            currentTick++;
+            cascade();
+
+            int slot = (int) (currentTick & WHEEL_MASK);
+            Timer<T> head = wheels[0][slot];
+            wheels[0][slot] = null;
+            fired += fireList(head, expired);
+
+            // Anything scheduled into the past while firing runs in this same advance
+            fired += fireList(takeDue(), expired);
+        }
+        return fired;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public long getResolutionMillis() {
+        return resolutionMillis;
+    }
+
+    /**
+     * Removes every timer from the wheel
+     */
+    public void clear() {
+        for (Timer<T>[] wheel : wheels) {
+            for (int i = 0; i < WHEEL_SIZE; i++) {
+                detachAll(wheel[i]);
+                wheel[i] = null;
+            }
+        }
+        detachAll(overflow);
+        detachAll(due);
+        overflow = null;
+        due = null;
+        size = 0;
+    }
+
+    private void cascade() {
+        for (int level = 1; level < LEVELS; level++) {
+            long lowerBits = currentTick >> (WHEEL_BITS * (level - 1));
+            if ((lowerBits & WHEEL_MASK) != 0) {
+                return;
+            }
+            int slot = (int) ((currentTick >> (WHEEL_BITS * level)) & WHEEL_MASK);
+            Timer<T> head = wheels[level][slot];
+            wheels[level][slot] = null;
+            reinsertAll(head);
+        }
+
+        // The top level wrapped around, so overflowed timers may now fit
+        if ((currentTick >> (WHEEL_BITS * (LEVELS - 1)) & WHEEL_MASK) == 0) {
+            Timer<T> head = overflow;
+            overflow = null;
+            reinsertAll(head);
+        }
+    }
+
+    private void reinsertAll(Timer<T> head) {
+        Timer<T> timer = head;
+        while (timer != null) {
+            Timer<T> next = timer.next;
+            timer.prev = null;
+            timer.next = null;
+            timer.level = Timer.UNSCHEDULED;
+            insert(timer);
+            timer = next;
+        }
+    }
+
+    private int fireList(Timer<T> head, Consumer<T> expired) {
+        int fired = 0;
+        Timer<T> timer = head;
+        while (timer != null) {
+            Timer<T> next = timer.next;
+            timer.prev = null;
+            timer.next = null;
+            timer.level = Timer.UNSCHEDULED;
+            size--;
+            fired++;
+            expired.accept(timer.value);
+            timer = next;
+        }
+        return fired;
+    }
+
+    private Timer<T> takeDue() {
+        Timer<T> head = due;
+        due = null;
+        return head;
+    }
+
+    private void insert(Timer<T> timer) {
+        long tick = timer.deadline / resolutionMillis;
+        long delta = tick - currentTick;
+
+        if (delta <= 0) {
+            timer.level = Timer.DUE;
+            timer.slot = 0;
+            due = push(due, timer);
+            return;
+        }
+
+        for (int level = 0; level < LEVELS; level++) {
+            if (delta < (1L << (WHEEL_BITS * (level + 1)))) {
+                int slot = (int) ((tick >> (WHEEL_BITS * level)) & WHEEL_MASK);
+                timer.level = level;
+                timer.slot = slot;
+                wheels[level][slot] = push(wheels[level][slot], timer);
+                return;
+            }
+        }
+
+        timer.level = Timer.OVERFLOW;
+        timer.slot = 0;
+        overflow = push(overflow, timer);
+    }
+
+    private Timer<T> push(Timer<T> head, Timer<T> timer) {
+        timer.prev = null;
+        timer.next = head;
+        if (head != null) {
+            head.prev = timer;
+        }
+        return timer;
+    }
+
+    private void unlink(Timer<T> timer) {
+        if (timer.prev != null) {
+            timer.prev.next = timer.next;
+        } else {
+            setHead(timer, timer.next);
+        }
+        if (timer.next != null) {
+            timer.next.prev = timer.prev;
+        }
+        timer.prev = null;
+        timer.next = null;
+        timer.level = Timer.UNSCHEDULED;
+    }
+
+    private void setHead(Timer<T> timer, Timer<T> head) {
+        switch (timer.level) {
+            case Timer.DUE -> due = head;
+            case Timer.OVERFLOW -> overflow = head;
+            default -> wheels[timer.level][timer.slot] = head;
+        }
+    }
+
+    private void detachAll(Timer<T> head) {
+        Timer<T> timer = head;
+        while (timer != null) {
+            Timer<T> next = timer.next;
+            timer.prev = null;
+            timer.next = null;
+            timer.level = Timer.UNSCHEDULED;
+            timer = next;
+        }
+    }
+
+    /**
+     * Handle for a scheduled value. Handles can be rescheduled after they fired.
+     */
+    public static final class Timer<T> {
+        private static final int UNSCHEDULED = -1;
+        private static final int DUE = -2;
+        private static final int OVERFLOW = -3;
+
+        private final T value;
+        private long deadline;
+        private int level = UNSCHEDULED;
+        private int slot;
+        private Timer<T> prev;
+        private Timer<T> next;
+
+        private Timer(T value) {
+            this.value = value;
+        }
+
+        public T getValue() {
+            return value;
+        }
+
+        public long getDeadline() {
+            return deadline;
+        }
+
+        public boolean isScheduled() {
+            return level != UNSCHEDULED;
+        }
+    }
+}